@@ -0,0 +1,41 @@
+package com.ssafy.chatserver.chat.controller;
+
+import com.ssafy.chatserver.chat.dto.ChatAckDto;
+import com.ssafy.chatserver.chat.dto.MessageDto;
+import com.ssafy.chatserver.config.KafkaConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.util.concurrent.CompletableFuture;
+
+// STOMP SEND to /pub/chat/message, produced straight to Kafka without the REST hop through lighthouse
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class MessageController {
+
+    private final KafkaTemplate<String, MessageDto> kafkaTemplate;
+
+    // the ack is sent to /user/queue/ack of the sending session once the broker has the message
+    @MessageMapping("/chat/message")
+    @SendToUser(destinations = "/queue/ack", broadcast = false)
+    public CompletableFuture<ChatAckDto> sendMessage(@Payload MessageDto messageDto, SimpMessageHeaderAccessor headerAccessor) {
+        String clientId = headerAccessor.getFirstNativeHeader("client-id");
+        messageDto.setTime(System.currentTimeMillis());
+
+        return kafkaTemplate.send(KafkaConstants.KAFKA_TOPIC, messageDto.getRoomId(), messageDto)
+                .completable()
+                .handle((result, ex) -> {
+                    if (ex != null) {
+                        log.debug("UNABLE TO SEND MSG=[" + messageDto + "] due to : " + ex.getMessage());
+                    }
+                    return new ChatAckDto(clientId, messageDto.getRoomId(), messageDto.getTime(), ex == null);
+                });
+    }
+}
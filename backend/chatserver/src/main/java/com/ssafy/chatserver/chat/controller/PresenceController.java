@@ -0,0 +1,21 @@
+package com.ssafy.chatserver.chat.controller;
+
+import com.ssafy.chatserver.chat.dto.PresenceDto;
+import com.ssafy.chatserver.chat.presence.PresenceTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+// SUBSCRIBE /pub/presence/{roomId} answers the current snapshot, changes follow on /topic/presence/{roomId}
+@Controller
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceTracker presenceTracker;
+
+    @SubscribeMapping("/presence/{roomId}")
+    public PresenceDto.Snapshot snapshot(@DestinationVariable String roomId) {
+        return new PresenceDto.Snapshot(roomId, presenceTracker.getOnlineUserIds(roomId));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ssafy.chatserver.chat.controller;
+
+import com.ssafy.chatserver.chat.dto.RouteDto;
+import com.ssafy.chatserver.chat.routing.PartitionOwnership;
+import com.ssafy.chatserver.chat.routing.RoomPartitioner;
+import com.ssafy.chatserver.config.RoutingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+// tells a client which instance to open the websocket of a room on
+@RestController
+@Slf4j
+@CrossOrigin
+@RequiredArgsConstructor
+public class RouteController {
+
+    private final PartitionOwnership partitionOwnership;
+    private final RoutingProperties routingProperties;
+
+    @GetMapping("/route/{roomId}")
+    public ResponseEntity<RouteDto> route(@PathVariable String roomId) {
+        int numPartitions = partitionOwnership.getNumPartitions();
+        if (numPartitions == 0) {
+            // not assigned yet: any instance relays the room
+            return new ResponseEntity<>(new RouteDto(roomId, -1, routingProperties.getEndpoint(), true), HttpStatus.OK);
+        }
+
+        int partition = RoomPartitioner.partitionOf(roomId, numPartitions);
+        if (partitionOwnership.isOwned(partition)) {
+            return new ResponseEntity<>(new RouteDto(roomId, partition, routingProperties.getEndpoint(), true), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(new RouteDto(roomId, partition, partitionOwnership.getRemoteOwner(partition), false), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ssafy.chatserver.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ChatAckDto {
+    private String clientId;    // "client-id" header of the SEND frame, for the client to match its message
+    private String roomId;
+    private Long time;          // time assigned to the message
+    private boolean success;    // false when the broker did not accept the message
+}
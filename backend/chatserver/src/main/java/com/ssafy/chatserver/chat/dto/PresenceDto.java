@@ -0,0 +1,26 @@
+package com.ssafy.chatserver.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+public class PresenceDto {
+
+    // a user of the room came online or went offline, sent to /topic/presence/{roomId}
+    @Data
+    @AllArgsConstructor
+    public static class Delta {
+        private String roomId;
+        private Long userId;
+        private boolean online;
+    }
+
+    // users of the room online now, sent once on SUBSCRIBE /pub/presence/{roomId}
+    @Data
+    @AllArgsConstructor
+    public static class Snapshot {
+        private String roomId;
+        private Set<Long> userIds;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ssafy.chatserver.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RouteDto {
+    private String roomId;
+    private int partition;
+    private String endpoint;    // websocket endpoint of the owner, null when it is unknown
+    private boolean local;      // this instance owns the room
+}
@@ -0,0 +1,110 @@
+package com.ssafy.chatserver.chat.fanout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.chatserver.chat.dto.MessageDto;
+import com.ssafy.chatserver.config.FanoutProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// delivers room messages straight to the subscribed sessions instead of going through the simple broker
+@Slf4j
+@Component
+public class RoomFanout {
+
+    private final RoomSubscriptionRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final FanoutProperties properties;
+    private final MessageHandler clientHandler;
+
+    // one single threaded executor per shard keeps the order of messages within a room
+    private final ExecutorService[] shards;
+    private final ExecutorService writers;
+    private final Map<String, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+
+    public RoomFanout(RoomSubscriptionRegistry registry,
+                      ObjectMapper objectMapper,
+                      FanoutProperties properties,
+                      @Qualifier("subProtocolWebSocketHandler") WebSocketHandler subProtocolWebSocketHandler) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        // SubProtocolWebSocketHandler is the handler of clientOutboundChannel, it encodes STOMP frames per session
+        this.clientHandler = (MessageHandler) subProtocolWebSocketHandler;
+
+        this.shards = new ExecutorService[properties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = Executors.newSingleThreadExecutor();
+        }
+        this.writers = Executors.newFixedThreadPool(properties.getWriters());
+    }
+
+    public void publish(MessageDto messageDto) {
+        String roomId = messageDto.getRoomId();
+        shards[Math.floorMod(roomId.hashCode(), shards.length)].execute(() -> send(roomId, messageDto));
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        registry.disconnect(sessionId);
+        // queued behind any send of the shards that may still hold the session
+        for (ExecutorService shard : shards) {
+            shard.execute(() -> outboxes.remove(sessionId));
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        writers.shutdown();
+    }
+
+    private void send(String roomId, MessageDto messageDto) {
+        Map<String, String> subscribers = registry.getSubscribers(roomId);
+        if (subscribers.isEmpty()) return;
+
+        // serialized once for the whole room, only the per session headers differ
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(messageDto);
+        } catch (JsonProcessingException e) {
+            log.error("failed to serialize message of room " + roomId, e);
+            return;
+        }
+
+        String destination = RoomSubscriptionRegistry.ROOM_PREFIX + roomId;
+        for (Map.Entry<String, String> subscriber : subscribers.entrySet()) {
+            String sessionId = subscriber.getKey();
+            outboxes.computeIfAbsent(sessionId, id -> new SessionOutbox(id, properties.getOutboxCapacity(), clientHandler, writers))
+                    .offer(frame(sessionId, subscriber.getValue(), destination, payload));
+        }
+    }
+
+    private Message<byte[]> frame(String sessionId, String subscriptionId, String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
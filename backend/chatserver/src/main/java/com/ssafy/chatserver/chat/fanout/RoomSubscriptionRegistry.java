@@ -0,0 +1,84 @@
+package com.ssafy.chatserver.chat.fanout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// subscriptions to /sub/{roomId} indexed by room, so a message only visits the sessions of its own room
+@Slf4j
+@Component
+public class RoomSubscriptionRegistry {
+
+    public static final String ROOM_PREFIX = "/sub/";
+
+    // roomId -> (sessionId -> subscriptionId)
+    private final Map<String, Map<String, String>> rooms = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    public Set<String> getRoomIds() {
+        return rooms.keySet();
+    }
+
+    public Map<String, String> getSubscribers(String roomId) {
+        Map<String, String> subscribers = rooms.get(roomId);
+        return subscribers == null ? Collections.emptyMap() : subscribers;
+    }
+
+    public void subscribe(String sessionId, String subscriptionId, String roomId) {
+        rooms.compute(roomId, (id, subscribers) -> {
+            if (subscribers == null) subscribers = new ConcurrentHashMap<>();
+            subscribers.put(sessionId, subscriptionId);
+            return subscribers;
+        });
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, roomId);
+    }
+
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) return;
+
+        String roomId = subscriptions.remove(subscriptionId);
+        if (roomId != null) leave(roomId, sessionId, subscriptionId);
+    }
+
+    public void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions == null) return;
+
+        for (Map.Entry<String, String> subscription : subscriptions.entrySet()) {
+            leave(subscription.getValue(), sessionId, subscription.getKey());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(ROOM_PREFIX)) return;
+
+        subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), destination.substring(ROOM_PREFIX.length()));
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    private void leave(String roomId, String sessionId, String subscriptionId) {
+        // drop the room entry once its last subscriber is gone
+        rooms.computeIfPresent(roomId, (id, subscribers) -> {
+            subscribers.remove(sessionId, subscriptionId);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.ssafy.chatserver.chat.fanout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// bounded queue of frames for one session, flushed by at most one writer thread at a time
+@Slf4j
+class SessionOutbox implements Runnable {
+
+    private final String sessionId;
+    private final Queue<Message<byte[]>> frames;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final MessageHandler clientHandler;
+    private final Executor writers;
+
+    SessionOutbox(String sessionId, int capacity, MessageHandler clientHandler, Executor writers) {
+        this.sessionId = sessionId;
+        this.frames = new ArrayBlockingQueue<>(capacity);
+        this.clientHandler = clientHandler;
+        this.writers = writers;
+    }
+
+    // never blocks: a session that cannot keep up loses frames instead of stalling its room
+    void offer(Message<byte[]> frame) {
+        if (!frames.offer(frame)) {
+            log.warn("outbox of session " + sessionId + " is full, frame dropped");
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void run() {
+        try {
+            Message<byte[]> frame;
+            while ((frame = frames.poll()) != null) {
+                try {
+                    clientHandler.handleMessage(frame);
+                } catch (Exception e) {
+                    log.debug("failed to send frame to session " + sessionId + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // a frame offered after the last poll but before the flag was cleared
+            if (!frames.isEmpty()) schedule();
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            writers.execute(this);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ssafy.chatserver.chat.presence;
+
+import com.ssafy.chatserver.chat.dto.PresenceDto;
+import com.ssafy.chatserver.chat.fanout.RoomSubscriptionRegistry;
+import com.ssafy.chatserver.config.KafkaConstants;
+import com.ssafy.chatserver.config.RoutingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// presence derived from the STOMP session lifecycle: CONNECT (login header = user id), SUBSCRIBE /sub/{roomId},
+// UNSUBSCRIBE and DISCONNECT, including the disconnect of a session that stopped sending heart-beats
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresenceTracker {
+
+    public static final String PRESENCE_PREFIX = "/topic/presence/";
+
+    private final SimpMessagingTemplate template;
+    private final KafkaTemplate<String, String> stringKafkaTemplate;
+    private final RoutingProperties routingProperties;
+
+    // sessionId -> userId
+    private final Map<String, Long> sessionUsers = new ConcurrentHashMap<>();
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, String>> sessionRooms = new ConcurrentHashMap<>();
+    // userId -> number of sessions, only changed inside compute
+    private final Map<Long, Integer> userSessions = new ConcurrentHashMap<>();
+    // roomId -> (userId -> number of subscriptions), inner maps only touched inside compute of their room
+    private final Map<String, Map<Long, Integer>> roomUsers = new ConcurrentHashMap<>();
+
+    public Set<Long> getOnlineUserIds(String roomId) {
+        Set<Long> userIds = new HashSet<>();
+        roomUsers.computeIfPresent(roomId, (id, users) -> {
+            userIds.addAll(users.keySet());
+            return users;
+        });
+        return userIds;
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long userId = parseUserId(accessor.getLogin());
+        if (userId == null) return;
+
+        sessionUsers.put(accessor.getSessionId(), userId);
+        boolean[] online = new boolean[1];
+        userSessions.compute(userId, (id, count) -> {
+            online[0] = count == null;
+            return count == null ? 1 : count + 1;
+        });
+        if (online[0]) publish("ONLINE", userId.toString(), userId.toString());
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        Long userId = sessionUsers.get(accessor.getSessionId());
+        if (userId == null || destination == null || !destination.startsWith(RoomSubscriptionRegistry.ROOM_PREFIX)) return;
+
+        String roomId = destination.substring(RoomSubscriptionRegistry.ROOM_PREFIX.length());
+        sessionRooms.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>()).put(accessor.getSubscriptionId(), roomId);
+        join(roomId, userId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long userId = sessionUsers.get(accessor.getSessionId());
+        Map<String, String> subscriptions = sessionRooms.get(accessor.getSessionId());
+        if (userId == null || subscriptions == null) return;
+
+        String roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null) leave(roomId, userId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Long userId = sessionUsers.remove(event.getSessionId());
+        if (userId == null) return;
+
+        Map<String, String> subscriptions = sessionRooms.remove(event.getSessionId());
+        if (subscriptions != null) {
+            for (String roomId : subscriptions.values()) {
+                leave(roomId, userId);
+            }
+        }
+
+        boolean[] offline = new boolean[1];
+        userSessions.computeIfPresent(userId, (id, count) -> {
+            offline[0] = count == 1;
+            return count == 1 ? null : count - 1;
+        });
+        // the user may still be connected to another instance, lighthouse only expires it when no snapshot keeps it
+        if (offline[0]) publish("OFFLINE", userId.toString(), userId.toString());
+    }
+
+    // users connected to this instance, so lighthouse can expire the users of an instance that died
+    @Scheduled(fixedRateString = "${chat.presence.snapshot-ms:20000}")
+    public void sendSnapshot() {
+        StringBuilder userIds = new StringBuilder();
+        for (Long userId : userSessions.keySet()) {
+            if (userIds.length() > 0) userIds.append(',');
+            userIds.append(userId);
+        }
+        publish("SNAPSHOT", routingProperties.getInstanceId(), userIds.toString());
+    }
+
+    private void join(String roomId, Long userId) {
+        boolean[] online = new boolean[1];
+        roomUsers.compute(roomId, (id, users) -> {
+            if (users == null) users = new HashMap<>();
+            online[0] = users.merge(userId, 1, Integer::sum) == 1;
+            return users;
+        });
+        if (online[0]) template.convertAndSend(PRESENCE_PREFIX + roomId, new PresenceDto.Delta(roomId, userId, true));
+    }
+
+    private void leave(String roomId, Long userId) {
+        boolean[] offline = new boolean[1];
+        roomUsers.computeIfPresent(roomId, (id, users) -> {
+            Integer count = users.get(userId);
+            if (count == null) return users;
+            if (count == 1) {
+                users.remove(userId);
+                offline[0] = true;
+            } else {
+                users.put(userId, count - 1);
+            }
+            return users.isEmpty() ? null : users;
+        });
+        if (offline[0]) template.convertAndSend(PRESENCE_PREFIX + roomId, new PresenceDto.Delta(roomId, userId, false));
+    }
+
+    // "{type}|{payload}" on kafka-presence: ONLINE|userId, OFFLINE|userId, SNAPSHOT|userId,userId,...
+    private void publish(String type, String key, String payload) {
+        stringKafkaTemplate.send(KafkaConstants.PRESENCE_TOPIC, key, type + "|" + payload);
+    }
+
+    private Long parseUserId(String login) {
+        if (login == null) return null;
+        try {
+            return Long.parseLong(login);
+        } catch (NumberFormatException e) {
+            log.debug("connect without a user id: " + login);
+            return null;
+        }
+    }
+}
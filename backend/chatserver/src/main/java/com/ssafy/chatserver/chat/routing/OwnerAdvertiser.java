@@ -0,0 +1,79 @@
+package com.ssafy.chatserver.chat.routing;
+
+import com.ssafy.chatserver.config.KafkaConstants;
+import com.ssafy.chatserver.config.RoutingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// publishes "{endpoint}|{partition},{partition}..." keyed by instance id and keeps the view of the other instances
+// the compacted topic is read from the beginning on every assignment, so a restarted instance rebuilds its view
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.routing.enabled", havingValue = "true", matchIfMissing = true)
+public class OwnerAdvertiser implements ConsumerSeekAware {
+
+    private final KafkaTemplate<String, String> stringKafkaTemplate;
+    private final PartitionOwnership partitionOwnership;
+    private final RoutingProperties routingProperties;
+
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent event) {
+        stringKafkaTemplate.send(KafkaConstants.OWNER_TOPIC, routingProperties.getInstanceId(), encode(event.getOwned()));
+    }
+
+    @KafkaListener(
+            topics = KafkaConstants.OWNER_TOPIC,
+            containerFactory = "ownerKafkaListenerContainerFactory"
+    )
+    public void listenOwner(ConsumerRecord<String, String> record) {
+        if (record.key() == null || routingProperties.getInstanceId().equals(record.key())) return;
+        // tombstone of a stopped instance, its partitions are advertised again by their next owner
+        if (record.value() == null) {
+            partitionOwnership.removeRemoteOwner(record.key());
+            log.debug("instance " + record.key() + " stopped");
+            return;
+        }
+
+        String[] fields = record.value().split("\\|", -1);
+        if (fields.length < 2) return;
+        List<Integer> partitions = new ArrayList<>();
+        for (String partition : fields[1].split(",")) {
+            if (!partition.isEmpty()) partitions.add(Integer.parseInt(partition));
+        }
+        partitionOwnership.updateRemoteOwner(record.key(), fields[0], partitions);
+        log.debug("instance " + record.key() + " owns " + partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stringKafkaTemplate.send(KafkaConstants.OWNER_TOPIC, routingProperties.getInstanceId(), null);
+    }
+
+    private String encode(Set<Integer> partitions) {
+        StringBuilder sb = new StringBuilder(routingProperties.getEndpoint() == null ? "" : routingProperties.getEndpoint()).append('|');
+        for (Integer partition : partitions) {
+            sb.append(partition).append(',');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package com.ssafy.chatserver.chat.routing;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+@Getter
+public class OwnershipChangedEvent {
+    private final Set<Integer> owned;       // partitions owned after the change
+
+    public OwnershipChangedEvent(Set<Integer> owned) {
+        this.owned = owned;
+    }
+}
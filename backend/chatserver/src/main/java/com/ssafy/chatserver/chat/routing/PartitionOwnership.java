@@ -0,0 +1,126 @@
+package com.ssafy.chatserver.chat.routing;
+
+import com.ssafy.chatserver.config.KafkaConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// partitions of KAFKA_TOPIC owned by this instance (G_PROPAGATE assignment) and by the other instances (advertised)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionOwnership implements ConsumerAwareRebalanceListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<Integer> owned = ConcurrentHashMap.newKeySet();
+    // position of a revoked partition, the relay resumes from here so no message is lost in the handoff
+    private final Map<Integer, Long> handoffs = new ConcurrentHashMap<>();
+    // partition -> instance that advertised it last, only changed under the lock of this object
+    private final Map<Integer, RemoteOwner> remoteOwners = new ConcurrentHashMap<>();
+    // instance id -> partitions of its last advertisement, to drop what it no longer owns
+    private final Map<String, Set<Integer>> advertised = new HashMap<>();
+    private volatile int numPartitions;
+
+    public boolean isOwned(int partition) {
+        return owned.contains(partition);
+    }
+
+    public Set<Integer> getOwned() {
+        return new TreeSet<>(owned);
+    }
+
+    public int getNumPartitions() {
+        return numPartitions;
+    }
+
+    public void setNumPartitions(int numPartitions) {
+        this.numPartitions = numPartitions;
+    }
+
+    public String getRemoteOwner(int partition) {
+        RemoteOwner owner = remoteOwners.get(partition);
+        return owner == null ? null : owner.endpoint;
+    }
+
+    // the advertisement replaces the previous one of the instance
+    public synchronized void updateRemoteOwner(String instanceId, String endpoint, Collection<Integer> partitions) {
+        removeRemoteOwner(instanceId);
+        Set<Integer> claimed = new HashSet<>(partitions);
+        for (Integer partition : claimed) {
+            remoteOwners.put(partition, new RemoteOwner(instanceId, endpoint));
+        }
+        advertised.put(instanceId, claimed);
+    }
+
+    // tombstone or new advertisement of the instance, partitions taken over by another instance since are kept
+    public synchronized void removeRemoteOwner(String instanceId) {
+        Set<Integer> partitions = advertised.remove(instanceId);
+        if (partitions == null) return;
+        for (Integer partition : partitions) {
+            RemoteOwner owner = remoteOwners.get(partition);
+            if (owner != null && owner.instanceId.equals(instanceId)) remoteOwners.remove(partition);
+        }
+    }
+
+    public Long takeHandoff(int partition) {
+        return handoffs.remove(partition);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            if (!KafkaConstants.KAFKA_TOPIC.equals(partition.topic())) continue;
+            owned.remove(partition.partition());
+            try {
+                handoffs.put(partition.partition(), consumer.position(partition));
+            } catch (Exception e) {
+                log.debug("no position to hand off for " + partition + ": " + e.getMessage());
+            }
+        }
+        log.info("partitions revoked: " + partitions);
+        eventPublisher.publishEvent(new OwnershipChangedEvent(getOwned()));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> assigned = new HashSet<>();
+        for (TopicPartition partition : partitions) {
+            if (!KafkaConstants.KAFKA_TOPIC.equals(partition.topic())) continue;
+            assigned.add(partition.partition());
+            handoffs.remove(partition.partition());
+        }
+        owned.addAll(assigned);
+        numPartitions = consumer.partitionsFor(KafkaConstants.KAFKA_TOPIC).size();
+        log.info("partitions assigned: " + partitions);
+        eventPublisher.publishEvent(new OwnershipChangedEvent(getOwned()));
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // no commit is possible here, the relay starts from the last known position
+        onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    private static class RemoteOwner {
+        private final String instanceId;
+        private final String endpoint;
+
+        private RemoteOwner(String instanceId, String endpoint) {
+            this.instanceId = instanceId;
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.ssafy.chatserver.chat.routing;
+
+import com.ssafy.chatserver.chat.dto.MessageDto;
+import com.ssafy.chatserver.chat.fanout.RoomFanout;
+import com.ssafy.chatserver.chat.fanout.RoomSubscriptionRegistry;
+import com.ssafy.chatserver.config.KafkaConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// reads, without a group, the partitions of rooms that have local subscribers but are owned by another instance
+// clients are steered to the owner (RouteController), so this only covers stragglers and rebalance handoffs
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.routing.enabled", havingValue = "true", matchIfMissing = true)
+public class RelayConsumer implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, MessageDto> relayConsumerFactory;
+    private final RoomSubscriptionRegistry registry;
+    private final RoomFanout roomFanout;
+    private final PartitionOwnership partitionOwnership;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile boolean running;
+    private volatile Consumer<String, MessageDto> consumer;
+    private Thread thread;
+
+    public RelayConsumer(@Qualifier("relayConsumerFactory") ConsumerFactory<String, MessageDto> relayConsumerFactory,
+                         RoomSubscriptionRegistry registry,
+                         RoomFanout roomFanout,
+                         PartitionOwnership partitionOwnership) {
+        this.relayConsumerFactory = relayConsumerFactory;
+        this.registry = registry;
+        this.roomFanout = roomFanout;
+        this.partitionOwnership = partitionOwnership;
+    }
+
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent event) {
+        reassign();
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        reassign();
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        reassign();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "chat-relay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wakeup();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void reassign() {
+        dirty.set(true);
+        wakeup();
+    }
+
+    private void wakeup() {
+        Consumer<String, MessageDto> current = consumer;
+        if (current != null) current.wakeup();
+        synchronized (dirty) {
+            dirty.notifyAll();
+        }
+    }
+
+    private void run() {
+        consumer = relayConsumerFactory.createConsumer();
+        try {
+            while (running) {
+                try {
+                    if (dirty.getAndSet(false)) assign();
+
+                    if (consumer.assignment().isEmpty()) {
+                        // nothing to relay, sleep until a subscription or an ownership change
+                        synchronized (dirty) {
+                            if (!dirty.get() && running) dirty.wait(POLL_TIMEOUT.toMillis());
+                        }
+                        continue;
+                    }
+
+                    ConsumerRecords<String, MessageDto> records = consumer.poll(POLL_TIMEOUT);
+                    for (ConsumerRecord<String, MessageDto> record : records) {
+                        // partitions carry other rooms too, RoomFanout skips rooms without local subscribers
+                        // a null value is a record ErrorHandlingDeserializer could not read
+                        if (record.value() != null) roomFanout.publish(record.value());
+                    }
+                } catch (WakeupException e) {
+                    log.debug("relay consumer woken up");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private void assign() {
+        int numPartitions = partitionOwnership.getNumPartitions();
+        if (numPartitions == 0) {
+            numPartitions = consumer.partitionsFor(KafkaConstants.KAFKA_TOPIC).size();
+            partitionOwnership.setNumPartitions(numPartitions);
+        }
+
+        Set<TopicPartition> target = new HashSet<>();
+        for (String roomId : registry.getRoomIds()) {
+            int partition = RoomPartitioner.partitionOf(roomId, numPartitions);
+            if (!partitionOwnership.isOwned(partition)) {
+                target.add(new TopicPartition(KafkaConstants.KAFKA_TOPIC, partition));
+            }
+        }
+
+        Set<TopicPartition> current = consumer.assignment();
+        if (target.equals(current)) return;
+
+        List<TopicPartition> added = new ArrayList<>(target);
+        added.removeAll(current);
+        consumer.assign(target);
+
+        for (TopicPartition partition : added) {
+            // resume a partition this instance just handed off, otherwise only new messages are relayed
+            Long handoff = partitionOwnership.takeHandoff(partition.partition());
+            if (handoff != null) {
+                consumer.seek(partition, handoff);
+            } else {
+                consumer.seekToEnd(Collections.singletonList(partition));
+            }
+        }
+        log.info("relaying partitions: " + target);
+    }
+}
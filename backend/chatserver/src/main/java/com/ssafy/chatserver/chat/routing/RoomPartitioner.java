@@ -0,0 +1,16 @@
+package com.ssafy.chatserver.chat.routing;
+
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+
+// same partition as the default producer partitioner picks for a record keyed by roomId
+public class RoomPartitioner {
+
+    private RoomPartitioner() {
+    }
+
+    public static int partitionOf(String roomId, int numPartitions) {
+        return Utils.toPositive(Utils.murmur2(roomId.getBytes(StandardCharsets.UTF_8))) % numPartitions;
+    }
+}
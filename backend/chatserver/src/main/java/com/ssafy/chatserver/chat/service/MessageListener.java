@@ -1,11 +1,11 @@
 package com.ssafy.chatserver.chat.service;
 
 import com.ssafy.chatserver.chat.dto.MessageDto;
+import com.ssafy.chatserver.chat.fanout.RoomFanout;
 import com.ssafy.chatserver.config.KafkaConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
 
@@ -14,7 +14,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class MessageListener {
 
-    private final SimpMessagingTemplate template;
+    private final RoomFanout roomFanout;
 
     @KafkaListener(
             topics = KafkaConstants.KAFKA_TOPIC,
@@ -23,9 +23,8 @@ public class MessageListener {
     )
     public void listenAndSend(MessageDto messageDto) {
         log.info("Propagation consumer working with : " + messageDto.toString());
-        String roomId = messageDto.getRoomId();
-        // propagation
-        template.convertAndSend("/sub/"+roomId, messageDto);
+        // propagation to the subscribers of /sub/{roomId}
+        roomFanout.publish(messageDto);
     }
 
 
@@ -0,0 +1,33 @@
+package com.ssafy.chatserver.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "chat.fanout")
+public class FanoutProperties {
+    // number of single threaded shards, a room always goes to the same shard
+    private final int shards;
+    // threads flushing per session outboxes to the sockets
+    private final int writers;
+    // max frames waiting for a single session, newer frames are dropped beyond this
+    private final int outboxCapacity;
+    // websocket transport limits, a session exceeding them is closed
+    private final int sendTimeLimit;
+    private final int sendBufferSizeLimit;
+
+    public FanoutProperties(@DefaultValue("4") int shards,
+                            @DefaultValue("8") int writers,
+                            @DefaultValue("256") int outboxCapacity,
+                            @DefaultValue("10000") int sendTimeLimit,
+                            @DefaultValue("524288") int sendBufferSizeLimit) {
+        this.shards = shards;
+        this.writers = writers;
+        this.outboxCapacity = outboxCapacity;
+        this.sendTimeLimit = sendTimeLimit;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+}
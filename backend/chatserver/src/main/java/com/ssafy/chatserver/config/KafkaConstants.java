@@ -3,4 +3,9 @@ package com.ssafy.chatserver.config;
 public class KafkaConstants {
     public static final String KAFKA_TOPIC = "kafka-chat";
     public static final String GROUP_PROPAGATE = "G_PROPAGATE";
+    // compacted topic where every instance advertises the partitions of KAFKA_TOPIC it owns
+    public static final String OWNER_TOPIC = "kafka-chat-owner";
+    public static final String GROUP_OWNER_PREFIX = "G_OWNER_";
+    // online/offline transitions of users connected to chatserver, read by lighthouse
+    public static final String PRESENCE_TOPIC = "kafka-presence";
 }
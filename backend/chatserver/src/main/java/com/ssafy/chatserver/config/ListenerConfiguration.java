@@ -1,6 +1,8 @@
 package com.ssafy.chatserver.config;
 
 import com.ssafy.chatserver.chat.dto.MessageDto;
+import com.ssafy.chatserver.chat.routing.PartitionOwnership;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.StickyAssignor;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -9,11 +11,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,17 +28,19 @@ public class ListenerConfiguration {
     @Value("${KAFKA_BROKER}")
     private String kafkaBroker;
 
-    // Propagation consumer group configuration
+    // Propagation consumer group configuration: the assigned partitions are the rooms owned by this instance
+    // a record that cannot be deserialized fails with DeserializationException, which the default error handler logs and skips
     @Bean
-    ConcurrentKafkaListenerContainerFactory<String, MessageDto> propKafkaListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, MessageDto> propKafkaListenerContainerFactory(PartitionOwnership partitionOwnership) {
         ConcurrentKafkaListenerContainerFactory<String, MessageDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(propConsumerFactory());
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionOwnership);
         return factory;
     }
 
     @Bean
     public ConsumerFactory<String, MessageDto> propConsumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(propConsumerConfigurations(), new StringDeserializer(), new JsonDeserializer<>(MessageDto.class, false));
+        return new DefaultKafkaConsumerFactory<>(propConsumerConfigurations(), new StringDeserializer(), new ErrorHandlingDeserializer<>(new MessageDtoDeserializer()));
     }
 
     @Bean
@@ -45,10 +50,43 @@ public class ListenerConfiguration {
         configurations.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
         configurations.put(ConsumerConfig.GROUP_ID_CONFIG, KafkaConstants.GROUP_PROPAGATE);
         configurations.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configurations.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configurations.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configurations.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, MessageDtoDeserializer.class);
         configurations.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, StickyAssignor.class.getName());
         configurations.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
         return configurations;
     }
 
+    // Relay consumer configuration: manually assigned partitions of rooms owned by other instances, never committed
+    // unreadable records come back with a null value instead of failing the poll
+    @Bean
+    public ConsumerFactory<String, MessageDto> relayConsumerFactory() {
+        Map<String, Object> configurations = new HashMap<>();
+        configurations.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
+        configurations.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configurations.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return new DefaultKafkaConsumerFactory<>(configurations, new StringDeserializer(), new ErrorHandlingDeserializer<>(new MessageDtoDeserializer()));
+    }
+
+    // Owner consumer configuration: a group per instance so that every instance reads every advertisement
+    // OwnerAdvertiser seeks to the beginning on assignment and offsets are never committed, the group leaves nothing behind
+    @Bean
+    ConcurrentKafkaListenerContainerFactory<String, String> ownerKafkaListenerContainerFactory(RoutingProperties routingProperties) {
+        Map<String, Object> configurations = new HashMap<>();
+        configurations.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
+        configurations.put(ConsumerConfig.GROUP_ID_CONFIG, KafkaConstants.GROUP_OWNER_PREFIX + routingProperties.getInstanceId());
+        configurations.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configurations.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(configurations, new StringDeserializer(), new StringDeserializer()));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    @Bean
+    public NewTopic ownerTopic() {
+        return TopicBuilder.name(KafkaConstants.OWNER_TOPIC).partitions(1).compact().build();
+    }
+
 }
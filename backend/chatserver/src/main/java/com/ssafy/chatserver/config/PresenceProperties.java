@@ -0,0 +1,21 @@
+package com.ssafy.chatserver.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "chat.presence")
+public class PresenceProperties {
+    // STOMP heart-beat the server sends and expects, a session missing it is closed (and goes offline)
+    private final long heartbeatMs;
+    // interval of the snapshot of connected users sent to lighthouse, must stay below its heartbeat.timeout-ms
+    private final long snapshotMs;
+
+    public PresenceProperties(@DefaultValue("4000") long heartbeatMs, @DefaultValue("20000") long snapshotMs) {
+        this.heartbeatMs = heartbeatMs;
+        this.snapshotMs = snapshotMs;
+    }
+}
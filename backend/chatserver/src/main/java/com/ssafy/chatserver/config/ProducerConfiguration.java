@@ -0,0 +1,85 @@
+package com.ssafy.chatserver.config;
+
+import com.ssafy.chatserver.chat.dto.MessageDto;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@EnableKafka
+@Configuration
+public class ProducerConfiguration {
+
+    @Value("${KAFKA_BROKER}")
+    private String kafkaBroker;
+
+    // wire format of MessageDto: binary (MessageDtoSerializer) or json, consumers read both
+    @Value("${kafka.producer.format:binary}")
+    private String format;
+
+    @Value("${kafka.producer.batch-size:16384}")
+    private int batchSize;
+
+    @Value("${kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    // Chat messages published over STOMP
+    @Bean
+    public ProducerFactory<String, MessageDto> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigurations(), new StringSerializer(), messageSerializer());
+    }
+
+    @Bean
+    public Map<String, Object> producerConfigurations() {
+        Map<String, Object> configurations = new HashMap<>();
+        configurations.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
+        configurations.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configurations.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "json".equals(format) ? JsonSerializer.class : MessageDtoSerializer.class);
+        configurations.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configurations.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configurations.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        return configurations;
+    }
+
+    @Bean
+    public KafkaTemplate<String, MessageDto> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    // Plain string records: partition ownership advertisement, presence
+    @Bean
+    public ProducerFactory<String, String> stringProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(stringProducerConfigurations());
+    }
+
+    @Bean
+    public Map<String, Object> stringProducerConfigurations() {
+        Map<String, Object> configurations = new HashMap<>();
+        configurations.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
+        configurations.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configurations.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return configurations;
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> stringKafkaTemplate() {
+        return new KafkaTemplate<>(stringProducerFactory());
+    }
+
+    private Serializer<MessageDto> messageSerializer() {
+        return "json".equals(format) ? new JsonSerializer<>() : new MessageDtoSerializer();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ssafy.chatserver.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.UUID;
+
+@Getter
+@ConstructorBinding
+@ConfigurationProperties(prefix = "chat.routing")
+public class RoutingProperties {
+    // advertise owned partitions and relay rooms owned by other instances
+    private final boolean enabled;
+    // unique per instance, a random one is used when not set
+    private final String instanceId;
+    // websocket endpoint clients of the rooms owned by this instance should connect to
+    private final String endpoint;
+
+    public RoutingProperties(@DefaultValue("true") boolean enabled, String instanceId, String endpoint) {
+        this.enabled = enabled;
+        this.instanceId = instanceId == null || instanceId.isEmpty() ? UUID.randomUUID().toString() : instanceId;
+        this.endpoint = endpoint;
+    }
+}
@@ -1,14 +1,31 @@
 package com.ssafy.chatserver.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @EnableWebSocketMessageBroker
 @Configuration
+@RequiredArgsConstructor
 public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
+
+    private final FanoutProperties fanoutProperties;
+    private final PresenceProperties presenceProperties;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // handshake endpoint
@@ -20,6 +37,18 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // destination starting with prefix will be routed to message broker: @Controller -> @MessageMapping
         registry.setApplicationDestinationPrefixes("/pub");
-        registry.enableSimpleBroker("/sub");
+        // /sub/{roomId} is delivered by RoomFanout, the simple broker only serves the remaining topics
+        // and /user/queue/** replies to a single session
+        // heart-beats close dead sessions, which then go offline in PresenceTracker
+        registry.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[]{presenceProperties.getHeartbeatMs(), presenceProperties.getHeartbeatMs()})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // per session send buffer, a client that stays slow beyond these limits is disconnected
+        registration.setSendTimeLimit(fanoutProperties.getSendTimeLimit());
+        registration.setSendBufferSizeLimit(fanoutProperties.getSendBufferSizeLimit());
     }
 }
@@ -4,6 +4,7 @@ import com.ssafy.lighthouse.domain.heartbeat.repository.HeartbeatRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -12,6 +13,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 //@EnableMongoRepositories(basePackageClasses = HeartbeatRepository.class)
 @EnableMongoRepositories(basePackages="com.ssafy.lighthouse.domain.*")
+@EnableReactiveMongoRepositories(basePackages="com.ssafy.lighthouse.domain.*")
 public class LighthouseApplication {
 
 	public static void main(String[] args) {
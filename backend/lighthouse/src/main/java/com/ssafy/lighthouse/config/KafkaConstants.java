@@ -3,4 +3,7 @@ package com.ssafy.lighthouse.config;
 public class KafkaConstants {
     public static final String KAFKA_TOPIC = "kafka-chat";
     public static final String GROUP_STORE = "G_STORE";
+    // presence events of the chatservers, every lighthouse instance reads all of them
+    public static final String PRESENCE_TOPIC = "kafka-presence";
+    public static final String GROUP_PRESENCE_PREFIX = "G_PRESENCE_";
 }
@@ -12,10 +12,14 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @EnableKafka
 @Configuration
@@ -24,17 +28,33 @@ public class ListenerConfiguration {
     @Value("${KAFKA_BROKER}")
     private String kafkaBroker;
 
-    // Store consumer group configuration
+    // max number of records delivered to a single batch
+    @Value("${kafka.store.batch-size:500}")
+    private int batchSize;
+
+    // max time the broker waits for kafka.store.min-bytes before answering a poll
+    @Value("${kafka.store.max-wait-ms:50}")
+    private int maxWaitMs;
+
+    @Value("${kafka.store.min-bytes:16384}")
+    private int minBytes;
+
+    // Store consumer group configuration: batch listener, offsets acknowledged by the writer after each stored batch
     @Bean
     ConcurrentKafkaListenerContainerFactory<String, MessageDto> storeKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, MessageDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(storeConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // a rejected batch (writer is busy) is redelivered until it is accepted, never skipped
+        // a record that cannot be deserialized reaches the listener with a null value instead of failing the batch
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(500L, FixedBackOff.UNLIMITED_ATTEMPTS)));
         return factory;
     }
 
     @Bean
     public ConsumerFactory<String, MessageDto> storeConsumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(storeConsumerConfigurations(), new StringDeserializer(), new JsonDeserializer<>(MessageDto.class));
+        return new DefaultKafkaConsumerFactory<>(storeConsumerConfigurations(), new StringDeserializer(), new ErrorHandlingDeserializer<>(new MessageDtoDeserializer()));
     }
 
     @Bean
@@ -43,9 +63,41 @@ public class ListenerConfiguration {
         configurations.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
         configurations.put(ConsumerConfig.GROUP_ID_CONFIG, KafkaConstants.GROUP_STORE);
         configurations.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configurations.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configurations.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configurations.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, MessageDtoDeserializer.class);
         configurations.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, StickyAssignor.class.getName());
         configurations.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configurations.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configurations.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        configurations.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, maxWaitMs);
+        configurations.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, minBytes);
+        return configurations;
+    }
+
+    // Presence consumer configuration: own group per instance, only events from now on matter
+    // offsets are never committed, so the group of a stopped instance is dropped by the broker instead of piling up
+    @Bean
+    ConcurrentKafkaListenerContainerFactory<String, String> presenceKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(presenceConsumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    @Bean
+    public ConsumerFactory<String, String> presenceConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(presenceConsumerConfigurations(), new StringDeserializer(), new StringDeserializer());
+    }
+
+    @Bean
+    public Map<String, Object> presenceConsumerConfigurations() {
+        Map<String, Object> configurations = new HashMap<>();
+        configurations.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
+        configurations.put(ConsumerConfig.GROUP_ID_CONFIG, KafkaConstants.GROUP_PRESENCE_PREFIX + UUID.randomUUID());
+        configurations.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configurations.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configurations.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configurations.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         return configurations;
     }
 }
@@ -0,0 +1,80 @@
+package com.ssafy.lighthouse.config;
+
+import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// reads both MessageDtoSerializer records and JSON records, so producers can switch formats either way
+// a corrupt record fails with SerializationException, which ErrorHandlingDeserializer turns into a skipped record
+public class MessageDtoDeserializer implements Deserializer<MessageDto> {
+
+    private final JsonDeserializer<MessageDto> jsonDeserializer = new JsonDeserializer<>(MessageDto.class, false);
+
+    @Override
+    public MessageDto deserialize(String topic, Headers headers, byte[] data) {
+        if (isJson(data)) return jsonDeserializer.deserialize(topic, headers, data);
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public MessageDto deserialize(String topic, byte[] data) {
+        if (data == null) return null;
+        if (isJson(data)) return jsonDeserializer.deserialize(topic, data);
+
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            byte version = in.get();
+            if (version != MessageDtoSerializer.VERSION) {
+                throw new SerializationException("unknown message version: " + version);
+            }
+
+            MessageDto messageDto = new MessageDto();
+            messageDto.setType(readType(in));
+            messageDto.setRoomId(readString(in));
+            messageDto.setSenderId(readString(in));
+            messageDto.setSenderName(readString(in));
+            messageDto.setMessage(readString(in));
+            messageDto.setTime(in.get() != 0 ? in.getLong() : null);
+            return messageDto;
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("truncated message of " + data.length + " bytes", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    // a JSON object starts with '{', a binary record with its version
+    private boolean isJson(byte[] data) {
+        return data != null && data.length > 0 && data[0] == '{';
+    }
+
+    // -1 for null, otherwise the ordinal of MessageType
+    private MessageDto.MessageType readType(ByteBuffer in) {
+        byte type = in.get();
+        if (type == -1) return null;
+        if (type < 0 || type >= MessageDto.MessageType.values().length) {
+            throw new SerializationException("unknown message type: " + type);
+        }
+        return MessageDto.MessageType.values()[type];
+    }
+
+    private String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == -1) return null;
+        if (length < 0 || length > in.remaining()) {
+            throw new SerializationException("invalid string length " + length + ", " + in.remaining() + " bytes left");
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
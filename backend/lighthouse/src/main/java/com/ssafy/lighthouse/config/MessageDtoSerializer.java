@@ -0,0 +1,49 @@
+package com.ssafy.lighthouse.config;
+
+import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// compact binary form of MessageDto, kept identical in chatserver
+//   [version:1][type:1][roomId][senderId][senderName][message][time]
+//   string = [length:4, -1 for null][utf-8 bytes], time = [present:1][epoch millis:8]
+// type is the ordinal of MessageType, so new types may only be appended
+public class MessageDtoSerializer implements Serializer<MessageDto> {
+
+    public static final byte VERSION = 1;
+
+    @Override
+    public byte[] serialize(String topic, MessageDto data) {
+        if (data == null) return null;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(data.getType() == null ? -1 : data.getType().ordinal());
+            writeString(out, data.getRoomId());
+            writeString(out, data.getSenderId());
+            writeString(out, data.getSenderName());
+            writeString(out, data.getMessage());
+            out.writeBoolean(data.getTime() != null);
+            if (data.getTime() != null) out.writeLong(data.getTime());
+        } catch (IOException e) {
+            throw new SerializationException("cannot serialize message of room " + data.getRoomId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
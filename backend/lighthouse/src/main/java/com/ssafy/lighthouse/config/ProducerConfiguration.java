@@ -1,6 +1,8 @@
 package com.ssafy.lighthouse.config;
 
 import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -21,17 +23,33 @@ public class ProducerConfiguration {
     @Value("${KAFKA_BROKER}")
     private String kafkaBroker;
 
+    // wire format of MessageDto: binary (MessageDtoSerializer) or json, consumers read both
+    @Value("${kafka.producer.format:binary}")
+    private String format;
+
+    @Value("${kafka.producer.batch-size:16384}")
+    private int batchSize;
+
+    @Value("${kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
     @Bean
     public ProducerFactory<String, MessageDto> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(ProducerConfigurations());
+        return new DefaultKafkaProducerFactory<>(ProducerConfigurations(), new StringSerializer(), messageSerializer());
     }
 
     @Bean
     public Map<String, Object> ProducerConfigurations() {
         Map<String, Object> configurations = new HashMap<>();
-        configurations.put(org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
-        configurations.put(org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configurations.put(org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configurations.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker);
+        configurations.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configurations.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, "json".equals(format) ? JsonSerializer.class : MessageDtoSerializer.class);
+        configurations.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configurations.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configurations.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
         return configurations;
     }
 
@@ -39,4 +57,8 @@ public class ProducerConfiguration {
     public KafkaTemplate<String, MessageDto> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    private Serializer<MessageDto> messageSerializer() {
+        return "json".equals(format) ? new JsonSerializer<>() : new MessageDtoSerializer();
+    }
 }
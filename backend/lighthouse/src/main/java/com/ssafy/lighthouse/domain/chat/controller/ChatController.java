@@ -1,10 +1,15 @@
 package com.ssafy.lighthouse.domain.chat.controller;
 import com.ssafy.lighthouse.config.KafkaConstants;
+import com.ssafy.lighthouse.domain.chat.dto.ChatHistoryOption;
+import com.ssafy.lighthouse.domain.chat.dto.ChatHistoryDto;
 import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
+import com.ssafy.lighthouse.domain.chat.entity.Chat;
+import com.ssafy.lighthouse.domain.chat.entity.ChatRecord;
 import com.ssafy.lighthouse.domain.chat.service.ChatService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 
@@ -12,6 +17,8 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.ListenableFutureCallback;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.PostConstruct;
 import java.util.concurrent.CompletableFuture;
@@ -52,15 +59,30 @@ public class ChatController {
         }
     }
 
-    // get all message of the given chatting room
+    // get recent messages of the given chatting room
+    // reads are non-blocking: the servlet thread is released until the reactive driver completes
     @GetMapping("/{id}")
-    public ResponseEntity<?> getAllMessage(@PathVariable String id) {
+    public Mono<ResponseEntity<ChatRecord>> getAllMessage(@PathVariable String id) {
         log.info("Get all message of room : " + id);
         /*
         logical session management, connection here -> replaced with KAFKA
         CODE HERE
          */
-        return new ResponseEntity<>(chatService.getAllMessage(id), HttpStatus.OK);
+        return chatService.getAllMessage(id).map(record -> new ResponseEntity<>(record, HttpStatus.OK));
+    }
+
+    // get a page of messages of the given chatting room: newest first, then before/after cursors
+    @GetMapping("/{id}/history")
+    public Mono<ResponseEntity<ChatHistoryDto>> getHistory(@PathVariable String id, ChatHistoryOption options) {
+        log.info("Get message history of room : " + id);
+        return chatService.getHistory(id, options).map(history -> new ResponseEntity<>(history, HttpStatus.OK));
+    }
+
+    // stream every message after the given seq as server-sent events
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<Chat> streamHistory(@PathVariable String id, @RequestParam(required = false) Long after) {
+        log.info("Stream message history of room : " + id);
+        return chatService.streamHistory(id, after);
     }
 
 }
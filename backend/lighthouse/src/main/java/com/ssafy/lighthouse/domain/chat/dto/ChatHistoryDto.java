@@ -0,0 +1,27 @@
+package com.ssafy.lighthouse.domain.chat.dto;
+
+import com.ssafy.lighthouse.domain.chat.entity.Chat;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@ToString
+public class ChatHistoryDto {
+    private String roomId;
+    private List<Chat> chats;   // ordered by seq
+    private Long before;        // cursor for older chats
+    private Long after;         // cursor for newer chats
+    private boolean hasBefore;
+
+    public ChatHistoryDto(String roomId, List<Chat> chats) {
+        this.roomId = roomId;
+        this.chats = chats;
+        if (!chats.isEmpty()) {
+            this.before = chats.get(0).getSeq();
+            this.after = chats.get(chats.size() - 1).getSeq();
+            this.hasBefore = this.before > 1;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ssafy.lighthouse.domain.chat.dto;
+
+import lombok.Data;
+
+// only one cursor is used: after > before > afterTime > beforeTime, newest chats if none is given
+@Data
+public class ChatHistoryOption {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private Integer size;
+    private Long before;        // seq, exclusive
+    private Long after;         // seq, exclusive
+    private Long beforeTime;    // epoch millis, exclusive
+    private Long afterTime;     // epoch millis, exclusive
+
+    public int getSize() {
+        if (size == null || size <= 0) return DEFAULT_SIZE;
+        return Math.min(size, MAX_SIZE);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ssafy.lighthouse.domain.chat.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
 import lombok.Data;
 import lombok.Getter;
@@ -27,13 +28,17 @@ public class Chat {
     private String senderName;
     private String message;
     private Long time;
+    private Long seq;           // order of the chat in its room, starting from 1
+    @JsonIgnore
+    private String key;         // {topic}-{partition}-{offset} of the kafka record, appending the same key twice is a no-op
 
-    public Chat(MessageDto messageDto) {
+    public Chat(MessageDto messageDto, String key) {
         this.type = messageDto.getType();
         this.roomId = messageDto.getRoomId();
         this.senderId = messageDto.getSenderId();
         this.senderName = messageDto.getSenderName();
         this.message = messageDto.getMessage();
         this.time = messageDto.getTime();
+        this.key = key;
     }
 }
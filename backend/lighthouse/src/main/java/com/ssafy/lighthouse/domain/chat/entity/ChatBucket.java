@@ -0,0 +1,41 @@
+package com.ssafy.lighthouse.domain.chat.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+@Document(collection = "chat_bucket")
+@CompoundIndexes({
+        @CompoundIndex(name = "room_bucket", def = "{'roomId': 1, 'bucket': -1}", unique = true),
+        @CompoundIndex(name = "room_first_time", def = "{'roomId': 1, 'firstTime': -1}"),
+        @CompoundIndex(name = "room_last_time", def = "{'roomId': 1, 'lastTime': 1}"),
+        @CompoundIndex(name = "room_log_key", def = "{'roomId': 1, 'log.key': 1}")
+})
+@NoArgsConstructor
+@Data
+public class ChatBucket {
+    // number of chats stored in a single bucket
+    public static final int SIZE = 100;
+
+    @Id
+    private String id;          // {roomId}:{bucket}
+    private String roomId;      // id of chatting room
+    private Long bucket;        // bucket number, (seq - 1) / SIZE
+    private Integer count;      // number of chats in this bucket
+    private Long firstTime;     // time of the oldest chat
+    private Long lastTime;      // time of the newest chat
+    private List<Chat> log;     // chats, ordered by seq
+
+    public static long bucketOf(long seq) {
+        return (seq - 1) / SIZE;
+    }
+
+    public static String idOf(String roomId, long bucket) {
+        return roomId + ":" + bucket;
+    }
+}
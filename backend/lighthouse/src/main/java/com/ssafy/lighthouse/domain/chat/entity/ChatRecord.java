@@ -4,17 +4,14 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.data.mongodb.core.mapping.Document;
 
-import javax.persistence.Id;
 import java.util.ArrayList;
 import java.util.List;
 
-@Document(collection = "chat")
+// chats of a room assembled from chat_bucket
 @NoArgsConstructor
 @Data
 public class ChatRecord {
-    @Id
     private String id;          // id of chatting room
     private String name;        // name of chatting room
     private List<Chat> log;     // actual chats
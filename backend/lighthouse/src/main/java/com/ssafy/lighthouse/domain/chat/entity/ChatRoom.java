@@ -0,0 +1,18 @@
+package com.ssafy.lighthouse.domain.chat.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "chat_room")
+@NoArgsConstructor
+@Data
+public class ChatRoom {
+    @Id
+    private String id;          // id of chatting room
+    private String name;        // name of chatting room
+    private Long seq;           // seq of the last chat in this room
+    private String reservation; // {firstKey}..{lastKey}/{count} of the last seq reservation, a retried reservation gets the same seqs
+    private Integer legacy;     // number of chats moved from the legacy chat collection (exec/migration/V1.0.4__chat_buckets.js)
+}
@@ -0,0 +1,7 @@
+package com.ssafy.lighthouse.domain.chat.repository;
+
+import com.ssafy.lighthouse.domain.chat.entity.ChatBucket;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ChatBucketRepository extends ReactiveMongoRepository<ChatBucket, String>, ChatBucketRepositoryCustom {
+}
@@ -0,0 +1,31 @@
+package com.ssafy.lighthouse.domain.chat.repository;
+
+import com.ssafy.lighthouse.domain.chat.entity.Chat;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ChatBucketRepositoryCustom {
+    // chat 들을 방 별로 묶어 seq 를 예약하고 부여, 같은 chat 들로 다시 예약하면 같은 seq 를 받는다
+    // 이미 저장된 key 의 chat 은 저장된 seq 를 받고 결과에서 빠진다, 결과는 아직 저장할 chat 들
+    Mono<List<Chat>> reserveSeqs(List<Chat> chats);
+
+    // seq 가 부여된 chat 들을 하나의 unordered bulk write 로 저장, 이미 저장된 key 는 다시 쌓이지 않는다
+    Mono<Void> appendAll(List<Chat> chats);
+
+    // 방의 마지막 seq, chat 이 없으면 0
+    Mono<Long> findLastSeq(String roomId);
+
+    // from <= seq <= to 인 chat 들 (seq 오름차순)
+    Flux<Chat> findAllBySeqRange(String roomId, long from, long to);
+
+    // time 이전의 chat 중 최신 size 개 (seq 오름차순)
+    Flux<Chat> findAllBeforeTime(String roomId, long time, int size);
+
+    // time 이후의 chat 중 가장 오래된 size 개 (seq 오름차순)
+    Flux<Chat> findAllAfterTime(String roomId, long time, int size);
+
+    // seq 이후의 모든 chat 을 bucket 단위로 흘려보낸다 (seq 오름차순)
+    Flux<Chat> streamAllAfterSeq(String roomId, long seq);
+}
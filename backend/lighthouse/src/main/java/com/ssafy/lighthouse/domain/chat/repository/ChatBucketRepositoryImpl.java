@@ -0,0 +1,254 @@
+package com.ssafy.lighthouse.domain.chat.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.ssafy.lighthouse.domain.chat.entity.Chat;
+import com.ssafy.lighthouse.domain.chat.entity.ChatBucket;
+import com.ssafy.lighthouse.domain.chat.entity.ChatRoom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class ChatBucketRepositoryImpl implements ChatBucketRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<List<Chat>> reserveSeqs(List<Chat> chats) {
+        if (chats.isEmpty()) return Mono.just(chats);
+
+        // one seq reservation per room, in consumed order, for the chats not stored by an earlier delivery
+        return Flux.fromIterable(groupByRoom(chats).entrySet())
+                .concatMap(room -> findStoredSeqs(room.getKey(), room.getValue())
+                        .flatMapMany(stored -> {
+                            List<Chat> fresh = new ArrayList<>();
+                            for (Chat chat : room.getValue()) {
+                                if (stored.containsKey(chat.getKey())) chat.setSeq(stored.get(chat.getKey()));
+                                else fresh.add(chat);
+                            }
+                            if (fresh.isEmpty()) return Flux.<Chat>empty();
+
+                            return reserveSeq(room.getKey(), reservationOf(fresh), fresh.size())
+                                    .flatMapIterable(first -> {
+                                        long seq = first;
+                                        for (Chat chat : fresh) {
+                                            chat.setSeq(seq++);
+                                        }
+                                        return fresh;
+                                    });
+                        }))
+                .collectList();
+    }
+
+    @Override
+    public Mono<Void> appendAll(List<Chat> chats) {
+        if (chats.isEmpty()) return Mono.empty();
+
+        // every bucket upsert of every room in one unordered bulk write
+        Map<String, List<Chat>> rooms = groupByRoom(chats);
+        List<UpdateOneModel<Document>> models = new ArrayList<>();
+        for (Map.Entry<String, List<Chat>> room : rooms.entrySet()) {
+            models.addAll(appendModels(room.getKey(), room.getValue()));
+        }
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(ChatBucket.class))
+                .flatMap(collection -> Mono.from(collection.bulkWrite(models, new BulkWriteOptions().ordered(false))))
+                .doOnNext(result -> log.debug("bulk appended " + chats.size() + " chats of " + rooms.size() + " rooms: "
+                        + result.getModifiedCount() + " buckets modified, " + result.getUpserts().size() + " created"))
+                .onErrorResume(MongoBulkWriteException.class, e -> {
+                    // duplicate key 는 guard 에 걸린 bucket 이 이미 저장되어 있다는 뜻, 다른 에러가 있을 때만 실패
+                    for (BulkWriteError error : e.getWriteErrors()) {
+                        if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) return Mono.error(e);
+                    }
+                    log.debug("bulk append skipped " + e.getWriteErrors().size() + " buckets already stored");
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Long> findLastSeq(String roomId) {
+        return mongoTemplate.findById(roomId, ChatRoom.class)
+                .map(room -> room.getSeq() == null ? 0L : room.getSeq())
+                .defaultIfEmpty(0L);
+    }
+
+    @Override
+    public Flux<Chat> findAllBySeqRange(String roomId, long from, long to) {
+        if (from > to) return Flux.empty();
+
+        // seq 범위에 해당하는 bucket 은 seq 로 바로 계산된다
+        List<String> ids = new ArrayList<>();
+        for (long bucket = ChatBucket.bucketOf(from); bucket <= ChatBucket.bucketOf(to); bucket++) {
+            ids.add(ChatBucket.idOf(roomId, bucket));
+        }
+
+        return aggregateLog(
+                Aggregation.match(Criteria.where("_id").in(ids)),
+                Aggregation.sort(Sort.Direction.ASC, "bucket"),
+                filterLog(new Document("$and", Arrays.asList(
+                        new Document("$gte", Arrays.asList("$$chat.seq", from)),
+                        new Document("$lte", Arrays.asList("$$chat.seq", to))))));
+    }
+
+    @Override
+    public Flux<Chat> findAllBeforeTime(String roomId, long time, int size) {
+        return aggregateLog(
+                Aggregation.match(Criteria.where("roomId").is(roomId).and("firstTime").lt(time)),
+                Aggregation.sort(Sort.Direction.DESC, "firstTime"),
+                Aggregation.limit(size / ChatBucket.SIZE + 2),
+                Aggregation.sort(Sort.Direction.ASC, "bucket"),
+                filterLog(new Document("$lt", Arrays.asList("$$chat.time", time))))
+                .takeLast(size);
+    }
+
+    @Override
+    public Flux<Chat> findAllAfterTime(String roomId, long time, int size) {
+        return aggregateLog(
+                Aggregation.match(Criteria.where("roomId").is(roomId).and("lastTime").gt(time)),
+                Aggregation.sort(Sort.Direction.ASC, "lastTime"),
+                Aggregation.limit(size / ChatBucket.SIZE + 2),
+                Aggregation.sort(Sort.Direction.ASC, "bucket"),
+                filterLog(new Document("$gt", Arrays.asList("$$chat.time", time))))
+                .take(size);
+    }
+
+    @Override
+    public Flux<Chat> streamAllAfterSeq(String roomId, long seq) {
+        Query query = Query.query(Criteria.where("roomId").is(roomId).and("bucket").gte(ChatBucket.bucketOf(seq + 1)))
+                .with(Sort.by(Sort.Direction.ASC, "bucket"));
+        return mongoTemplate.find(query, ChatBucket.class)
+                .filter(bucket -> bucket.getLog() != null)
+                .flatMapIterable(ChatBucket::getLog)
+                .filter(chat -> chat.getSeq() > seq);
+    }
+
+    // 조건에 맞는 chat 만 남기고 나머지 log 는 서버에서 잘라낸다
+    private AggregationOperation filterLog(Document cond) {
+        return context -> new Document("$project", new Document("bucket", 1)
+                .append("log", new Document("$filter", new Document("input", "$log")
+                        .append("as", "chat")
+                        .append("cond", cond))));
+    }
+
+    private Flux<Chat> aggregateLog(AggregationOperation... operations) {
+        return mongoTemplate
+                .aggregate(Aggregation.newAggregation(operations), ChatBucket.class, ChatBucket.class)
+                .filter(bucket -> bucket.getLog() != null)
+                .flatMapIterable(ChatBucket::getLog);
+    }
+
+    // 이전 배달에서 이미 저장된 chat 의 key -> seq, offset 을 commit 하기 전에 멈췄다가 다시 받은 batch 를 걸러낸다
+    private Mono<Map<String, Long>> findStoredSeqs(String roomId, List<Chat> chats) {
+        List<String> keys = new ArrayList<>(chats.size());
+        for (Chat chat : chats) {
+            keys.add(chat.getKey());
+        }
+
+        return aggregateLog(
+                Aggregation.match(Criteria.where("roomId").is(roomId).and("log.key").in(keys)),
+                filterLog(new Document("$in", Arrays.asList("$$chat.key", keys))))
+                .collectMap(Chat::getKey, Chat::getSeq);
+    }
+
+    private Map<String, List<Chat>> groupByRoom(List<Chat> chats) {
+        Map<String, List<Chat>> rooms = new LinkedHashMap<>();
+        for (Chat chat : chats) {
+            rooms.computeIfAbsent(chat.getRoomId(), roomId -> new ArrayList<>()).add(chat);
+        }
+        return rooms;
+    }
+
+    // 방의 chat 들은 한 partition 에서 offset 순으로 소비되므로, 처음과 마지막 key 와 개수가 같으면 같은 chat 들이다
+    private String reservationOf(List<Chat> chats) {
+        return chats.get(0).getKey() + ".." + chats.get(chats.size() - 1).getKey() + "/" + chats.size();
+    }
+
+    // chat_room 의 seq 를 count 만큼 원자적으로 증가시키고, 예약된 첫 seq 를 반환
+    // 응답을 잃고 같은 reservation 으로 다시 예약하면 seq 를 더 올리지 않고 마지막 예약을 그대로 돌려준다
+    private Mono<Long> reserveSeq(String roomId, String reservation, int count) {
+        return mongoTemplate.findAndModify(
+                        Query.query(Criteria.where("_id").is(roomId).and("reservation").ne(reservation)),
+                        new Update().inc("seq", count).set("reservation", reservation),
+                        FindAndModifyOptions.options().returnNew(true),
+                        ChatRoom.class)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findById(roomId, ChatRoom.class)))
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findAndModify(
+                        Query.query(Criteria.where("_id").is(roomId)),
+                        new Update().inc("seq", count).set("reservation", reservation),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        ChatRoom.class)))
+                .map(room -> room.getSeq() - count + 1);
+    }
+
+    // bucket 마다 하나의 upsert 를 만든다
+    // 다시 보내도 bucket 에 이미 있는 key 로 막히고, upsert 가 duplicate key 로 끝나서 두 번 쌓이지 않는다
+    private List<UpdateOneModel<Document>> appendModels(String roomId, List<Chat> chats) {
+        Map<Long, List<Chat>> buckets = new LinkedHashMap<>();
+        for (Chat chat : chats) {
+            buckets.computeIfAbsent(ChatBucket.bucketOf(chat.getSeq()), bucket -> new ArrayList<>()).add(chat);
+        }
+
+        UpdateMapper updateMapper = new UpdateMapper(mongoTemplate.getConverter());
+        List<UpdateOneModel<Document>> models = new ArrayList<>();
+        for (Map.Entry<Long, List<Chat>> bucket : buckets.entrySet()) {
+            Document update = updateMapper.getMappedObject(
+                    appendUpdate(roomId, bucket.getKey(), bucket.getValue()).getUpdateObject(),
+                    mongoTemplate.getConverter().getMappingContext().getPersistentEntity(ChatBucket.class));
+            // 한 bucket 의 chat 들은 한 번의 update 로 함께 들어가므로 첫 key 만 확인하면 된다
+            models.add(new UpdateOneModel<>(
+                    new Document("_id", ChatBucket.idOf(roomId, bucket.getKey()))
+                            .append("log.key", new Document("$ne", bucket.getValue().get(0).getKey())),
+                    update,
+                    new UpdateOptions().upsert(true)));
+        }
+        return models;
+    }
+
+    // $push 는 seq 순으로 정렬해서 동시에 들어온 chat 의 순서를 맞춘다
+    private Update appendUpdate(String roomId, long bucket, List<Chat> chats) {
+        Update update = new Update()
+                .setOnInsert("roomId", roomId)
+                .setOnInsert("bucket", bucket)
+                .inc("count", chats.size());
+
+        Long firstTime = null;
+        Long lastTime = null;
+        for (Chat chat : chats) {
+            if (chat.getTime() == null) continue;
+            if (firstTime == null || chat.getTime() < firstTime) firstTime = chat.getTime();
+            if (lastTime == null || chat.getTime() > lastTime) lastTime = chat.getTime();
+        }
+        if (firstTime != null) {
+            update.min("firstTime", firstTime);
+            update.max("lastTime", lastTime);
+        }
+
+        return update.push("log").sort(Sort.by(Sort.Direction.ASC, "seq")).each(chats.toArray());
+    }
+}
@@ -1,36 +1,66 @@
 package com.ssafy.lighthouse.domain.chat.service;
 
+import com.ssafy.lighthouse.domain.chat.dto.ChatHistoryDto;
+import com.ssafy.lighthouse.domain.chat.dto.ChatHistoryOption;
+import com.ssafy.lighthouse.domain.chat.entity.Chat;
+import com.ssafy.lighthouse.domain.chat.entity.ChatBucket;
 import com.ssafy.lighthouse.domain.chat.entity.ChatRecord;
-import com.ssafy.lighthouse.domain.chat.repository.ChatRepository;
+import com.ssafy.lighthouse.domain.chat.repository.ChatBucketRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import java.util.NoSuchElementException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class ChatService {
 
-    private final ChatRepository chatRepository;
+    private final ChatBucketRepository chatBucketRepository;
+
+    // most recent chats (up to ChatBucket.SIZE) of the given room
+    public Mono<ChatRecord> getAllMessage(String id) {
+        log.debug("get recent chats by the id: " + id);
+        return findLatest(id, ChatBucket.SIZE)
+                .collectList()
+                .map(chats -> {
+                    ChatRecord record = ChatRecord.create(id);
+                    record.setLog(chats);
+                    return record;
+                });
+    }
 
-    public ChatRecord getAllMessage(String id) {
-        log.debug("get all chats by the id: " + id);
-        ChatRecord record;
+    // a window of chats around the cursor of the option, newest chats without a cursor
+    public Mono<ChatHistoryDto> getHistory(String id, ChatHistoryOption options) {
+        log.debug("get chat history by the id: " + id + ", options: " + options);
+        int size = options.getSize();
+        Flux<Chat> chats;
 
-        try {
-            record = chatRepository.findById(id).get();
-        } catch (NoSuchElementException e) {
-            log.debug("no chat record found: ", e);
-            record = ChatRecord.create(id);
-            chatRepository.save(record);
+        if (options.getAfter() != null) {
+            chats = chatBucketRepository.findAllBySeqRange(id, options.getAfter() + 1, options.getAfter() + size);
+        } else if (options.getBefore() != null) {
+            chats = chatBucketRepository.findAllBySeqRange(id, Math.max(1, options.getBefore() - size), options.getBefore() - 1);
+        } else if (options.getAfterTime() != null) {
+            chats = chatBucketRepository.findAllAfterTime(id, options.getAfterTime(), size);
+        } else if (options.getBeforeTime() != null) {
+            chats = chatBucketRepository.findAllBeforeTime(id, options.getBeforeTime(), size);
+        } else {
+            chats = findLatest(id, size);
         }
 
-        return record;
+        return chats.collectList().map(list -> new ChatHistoryDto(id, list));
+    }
 
+    // every chat after the given seq, streamed bucket by bucket
+    public Flux<Chat> streamHistory(String id, Long after) {
+        log.debug("stream chat history by the id: " + id + ", after: " + after);
+        return chatBucketRepository.streamAllAfterSeq(id, after == null ? 0 : after);
+    }
 
+    private Flux<Chat> findLatest(String id, int size) {
+        return chatBucketRepository.findLastSeq(id)
+                .flatMapMany(lastSeq -> chatBucketRepository.findAllBySeqRange(id, Math.max(1, lastSeq - size + 1), lastSeq));
     }
 
 }
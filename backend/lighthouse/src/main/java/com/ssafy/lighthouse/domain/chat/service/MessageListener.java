@@ -3,45 +3,126 @@ package com.ssafy.lighthouse.domain.chat.service;
 import com.ssafy.lighthouse.config.KafkaConstants;
 import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
 import com.ssafy.lighthouse.domain.chat.entity.Chat;
-import com.ssafy.lighthouse.domain.chat.entity.ChatRecord;
-import com.ssafy.lighthouse.domain.chat.repository.ChatRepository;
+import com.ssafy.lighthouse.domain.chat.repository.ChatBucketRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MessageListener {
 
-    private final ChatRepository chatRepository;
+    private final ChatBucketRepository chatBucketRepository;
 
+    // batches consumed but not yet stored, the listener fails and the batch is redelivered when it is full
+    @Value("${kafka.store.max-pending-batches:16}")
+    private int maxPendingBatches;
+
+    // how long shutdown waits for the batches still pending to be stored
+    @Value("${kafka.store.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private Sinks.Many<PendingBatch> pending;
+    private CompletableFuture<Void> writer;
+
+    @PostConstruct
+    public void init() {
+        pending = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(maxPendingBatches));
+
+        // batches are written one after another so that seq keeps the consumed order of each room
+        // seqs are reserved once per batch and only the bulk write is retried with them, both steps are idempotent by chat key
+        // a batch redelivered after a crash or rebalance keeps the seqs of the chats it already stored
+        writer = pending.asFlux()
+                .concatMap(batch -> chatBucketRepository.reserveSeqs(batch.chats)
+                        .retryWhen(retry("reserve seqs for", batch))
+                        .flatMap(chats -> chatBucketRepository.appendAll(chats)
+                                .retryWhen(retry("store", batch)))
+                        .doOnSuccess(done -> {
+                            // offsets of this batch are committed only after the bulk write is acknowledged
+                            batch.acknowledgment.acknowledge();
+                            log.info("Storing consumer group stored " + batch.chats.size() + " messages");
+                        }))
+                .then()
+                .toFuture();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        // store what is already consumed, batches left after the timeout are redelivered and skipped by their chat keys
+        synchronized (this) {
+            pending.tryEmitComplete();
+        }
+        try {
+            writer.get(shutdownTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("chat store stopped before storing every pending batch: " + e);
+            writer.cancel(true);
+        }
+    }
+
+    private Retry retry(String action, PendingBatch batch) {
+        return Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100))
+                .maxBackoff(Duration.ofSeconds(5))
+                .doBeforeRetry(signal -> log.warn("retry to " + action + " " + batch.chats.size() + " messages: " + signal.failure().getMessage()));
+    }
 
     @KafkaListener(
             topics = KafkaConstants.KAFKA_TOPIC,
             groupId = KafkaConstants.GROUP_STORE,
             containerFactory = "storeKafkaListenerContainerFactory"
     )
-    public void listenAndStore(MessageDto messageDto) {
-
-        if(!chatRepository.existsById(messageDto.getRoomId())) {
-            chatRepository.save(ChatRecord.create(messageDto.getRoomId()));
+    public void listenAndStore(List<ConsumerRecord<String, MessageDto>> records, Acknowledgment acknowledgment) {
+        List<Chat> chats = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, MessageDto> record : records) {
+            // topic-partition-offset is the same every time the record is delivered
+            String key = record.topic() + "-" + record.partition() + "-" + record.offset();
+            if (record.value() == null) {
+                // ErrorHandlingDeserializer could not read it, skipped and committed with the rest of the batch
+                log.error("Storing consumer group skipped unreadable message " + key);
+                continue;
+            }
+            chats.add(new Chat(record.value(), key));
         }
 
-        ChatRecord record = chatRepository.findById(messageDto.getRoomId()).get();
-        List<Chat> recordLog = record.getLog();
-        recordLog.add(new Chat(messageDto));
-        record.setLog(recordLog);
-
-        chatRepository.save(record);
-        log.info("Storing consumer group working with : " + messageDto.toString());
+        // hand the batch over to the reactive writer and return the consumer thread right away
+        Sinks.EmitResult result;
+        synchronized (this) {
+            result = pending.tryEmitNext(new PendingBatch(chats, acknowledgment));
+        }
+        if (result.isFailure()) {
+            throw new IllegalStateException("chat store is busy, " + chats.size() + " messages will be redelivered: " + result);
+        }
     }
 
+    private static class PendingBatch {
+        private final List<Chat> chats;
+        private final Acknowledgment acknowledgment;
 
-
+        private PendingBatch(List<Chat> chats, Acknowledgment acknowledgment) {
+            this.chats = chats;
+            this.acknowledgment = acknowledgment;
+        }
+    }
 
 }
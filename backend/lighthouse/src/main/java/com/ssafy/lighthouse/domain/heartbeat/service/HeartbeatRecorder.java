@@ -0,0 +1,49 @@
+package com.ssafy.lighthouse.domain.heartbeat.service;
+
+import com.ssafy.lighthouse.domain.heartbeat.entity.Heartbeat;
+import com.ssafy.lighthouse.domain.heartbeat.repository.HeartbeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// stores the heartbeat of users coming online in batches, off the request threads
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeartbeatRecorder implements PresenceListener {
+
+    private final HeartbeatRepository heartbeatRepository;
+    private final PresenceRegistry presenceRegistry;
+
+    private final ConcurrentLinkedQueue<Heartbeat> pending = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    public void init() {
+        presenceRegistry.addListener(this);
+    }
+
+    @Override
+    public void onOnline(Long userId) {
+        pending.offer(new Heartbeat(userId));
+    }
+
+    @Override
+    public void onOffline(Long userId) {
+    }
+
+    @Scheduled(fixedDelayString = "${heartbeat.flush-ms:1000}")
+    public void flush() {
+        List<Heartbeat> beats = new ArrayList<>();
+        Heartbeat beat;
+        while ((beat = pending.poll()) != null) {
+            beats.add(beat);
+        }
+        if (!beats.isEmpty()) heartbeatRepository.saveAll(beats);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ssafy.lighthouse.domain.heartbeat.service;
+
+import com.ssafy.lighthouse.config.KafkaConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+// presence pushed by the chatservers from the STOMP session lifecycle: "{type}|{payload}"
+// ONLINE|userId, OFFLINE|userId, SNAPSHOT|userId,userId,... (every chat.presence.snapshot-ms, keeps them online)
+// OFFLINE only means one chatserver has no session of the user left, the user may still be connected to another one:
+// the user expires through the registry once no heartbeat or snapshot of any instance keeps it online
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresenceEventListener {
+
+    private final PresenceRegistry presenceRegistry;
+
+    @KafkaListener(topics = KafkaConstants.PRESENCE_TOPIC, containerFactory = "presenceKafkaListenerContainerFactory")
+    public void listen(String event) {
+        int separator = event.indexOf('|');
+        if (separator < 0) {
+            log.warn("unknown presence event: " + event);
+            return;
+        }
+
+        String type = event.substring(0, separator);
+        String payload = event.substring(separator + 1);
+        long now = System.currentTimeMillis();
+        try {
+            switch (type) {
+                case "ONLINE":
+                    presenceRegistry.beat(Long.parseLong(payload), now);
+                    break;
+                case "OFFLINE":
+                    break;
+                case "SNAPSHOT":
+                    for (String userId : payload.split(",")) {
+                        if (!userId.isEmpty()) presenceRegistry.beat(Long.parseLong(userId), now);
+                    }
+                    break;
+                default:
+                    log.warn("unknown presence event: " + event);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("malformed presence event: " + event);
+        }
+    }
+}
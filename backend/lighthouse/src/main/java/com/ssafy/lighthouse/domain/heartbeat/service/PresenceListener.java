@@ -0,0 +1,9 @@
+package com.ssafy.lighthouse.domain.heartbeat.service;
+
+// online/offline transitions of PresenceRegistry
+// onOnline runs on the thread of the first heartbeat, onOffline on the scheduler thread: keep both cheap
+public interface PresenceListener {
+    void onOnline(Long userId);
+
+    void onOffline(Long userId);
+}
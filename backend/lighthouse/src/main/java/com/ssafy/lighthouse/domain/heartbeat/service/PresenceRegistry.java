@@ -0,0 +1,118 @@
+package com.ssafy.lighthouse.domain.heartbeat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// last heartbeat of every online user, expired by a hashed timing wheel
+// a heartbeat of a known user only updates its entry, only the first one schedules an expiry
+// beats and expiry both go through the map's compute, so a user is never expired right after a heartbeat
+@Slf4j
+@Component
+public class PresenceRegistry {
+
+    private final long tickMs;
+    private final long timeoutMs;
+    private final ConcurrentHashMap<Long, Presence> presences = new ConcurrentHashMap<>();
+    // slot = deadline / tickMs % size, wide enough that a deadline never wraps onto the slot being expired
+    private final List<ConcurrentLinkedQueue<Long>> wheel;
+    private final List<PresenceListener> listeners = new CopyOnWriteArrayList<>();
+    // last expired tick, only touched by the thread calling advance
+    private long cursor = -1;
+
+    public PresenceRegistry(@Value("${heartbeat.tick-ms:1000}") long tickMs,
+                            @Value("${heartbeat.timeout-ms:40000}") long timeoutMs) {
+        this.tickMs = tickMs;
+        this.timeoutMs = timeoutMs;
+
+        int size = (int) (timeoutMs / tickMs) + 2;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public void addListener(PresenceListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isOnline(Long userId) {
+        return presences.containsKey(userId);
+    }
+
+    public Set<Long> getOnlineUserIds() {
+        return presences.keySet();
+    }
+
+    public void beat(Long userId, long now) {
+        boolean[] created = new boolean[1];
+        presences.compute(userId, (id, presence) -> {
+            if (presence != null) {
+                presence.lastSeen = now;
+                return presence;
+            }
+            created[0] = true;
+            return new Presence(now);
+        });
+        if (!created[0]) return;
+
+        schedule(userId, now + timeoutMs);
+        for (PresenceListener listener : listeners) {
+            listener.onOnline(userId);
+        }
+    }
+
+    // expire every tick up to now
+    public void advance(long now) {
+        long target = now / tickMs;
+        if (cursor < 0) cursor = target - 1;
+
+        while (cursor < target) {
+            cursor++;
+            expire(wheel.get((int) (cursor % wheel.size())), (cursor + 1) * tickMs);
+        }
+    }
+
+    private void expire(ConcurrentLinkedQueue<Long> slot, long limit) {
+        // entries rescheduled while draining land on other slots, the size bounds this pass
+        for (int i = slot.size(); i > 0; i--) {
+            Long userId = slot.poll();
+            if (userId == null) break;
+
+            // the deadline is checked and the entry removed in one step, a heartbeat can not slip in between
+            boolean[] expired = new boolean[1];
+            Presence kept = presences.computeIfPresent(userId, (id, presence) -> {
+                expired[0] = presence.lastSeen + timeoutMs < limit;
+                return expired[0] ? null : presence;
+            });
+
+            if (expired[0]) {
+                for (PresenceListener listener : listeners) {
+                    listener.onOffline(userId);
+                }
+            } else if (kept != null) {
+                // beaten since it was scheduled: move to the slot of its current deadline
+                schedule(userId, kept.lastSeen + timeoutMs);
+            }
+        }
+    }
+
+    private void schedule(Long userId, long deadline) {
+        wheel.get((int) ((deadline / tickMs) % wheel.size())).offer(userId);
+    }
+
+    private static class Presence {
+        private volatile long lastSeen;
+
+        private Presence(long lastSeen) {
+            this.lastSeen = lastSeen;
+        }
+    }
+}
@@ -34,6 +34,14 @@ public class StudyController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    // cursor 기반 전체 조회 (무한 스크롤), 다음 요청에는 응답의 nextCursor를 cursor로 전달
+    @GetMapping("/feed")
+    public ResponseEntity<?> findFeedByStudySearchOption(StudySearchOption options) {
+        log.debug("options : {}", options);
+        StudyFeedDto result = studyService.findFeedByStudySearchOption(options);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // 상세 조회
     @GetMapping("/{study-id}")
     public ResponseEntity<?> findDetailByStudyId(@PathVariable(name = "study-id") Long studyId) {
@@ -0,0 +1,18 @@
+package com.ssafy.lighthouse.domain.study.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// cursor 기반 스터디 목록
+@Getter
+@AllArgsConstructor
+public class StudyFeedDto {
+    private List<SimpleStudyDto> content;
+    // 다음 페이지 요청에 그대로 전달, 마지막 페이지면 null
+    private String nextCursor;
+    private boolean hasNext;
+    // cursor 없이 요청한 첫 페이지에서만 계산, 이후 페이지는 null
+    private Long total;
+}
@@ -47,6 +47,18 @@ public class StudyResponse {
     private List<QnaDto.Res> qnas;
     private String coverImgUrl;
 
+    public void setHit(int hit) {
+        this.hit = hit;
+    }
+
+    public void setLikeCnt(int likeCnt) {
+        this.likeCnt = likeCnt;
+    }
+
+    public void setBookmarkCnt(int bookmarkCnt) {
+        this.bookmarkCnt = bookmarkCnt;
+    }
+
     public void setLeaderProfile(SimpleProfileResponse leaderProfile) {
         this.leaderProfile = leaderProfile;
     }
@@ -55,7 +67,22 @@ public class StudyResponse {
         this.memberProfiles = memberProfiles;
     }
 
+    public void setStudyNotices(List<StudyNoticeDto.StudyNoticeRes> studyNotices) {
+        this.studyNotices = studyNotices;
+    }
+
+    public void setSessions(List<SessionRes> sessions) {
+        this.sessions = sessions;
+    }
+
     public StudyResponse(Study study) {
+        this(study,
+                study.getStudyNotices() != null ? study.getStudyNotices().stream().filter(BaseEntity::isValid).map(StudyNoticeDto.StudyNoticeRes::new).collect(Collectors.toList()) : null,
+                study.getSessions() != null ? study.getSessions().stream().filter(BaseEntity::isValid).map(SessionRes::new).collect(Collectors.toList()) : null);
+    }
+
+    // 공지 / 세션은 따로 조회한 결과를 받는다 (study의 studyNotices, sessions 는 읽지 않음)
+    public StudyResponse(Study study, List<StudyNoticeDto.StudyNoticeRes> studyNotices, List<SessionRes> sessions) {
         this.id = study.getId();
         this.createdAt = study.getCreatedAt();
         this.isValid = study.getIsValid();
@@ -80,8 +107,8 @@ public class StudyResponse {
         this.badge = study.getBadge() != null ? new BadgeResponse(study.getBadge()) : null;
         this.studyTags = study.getStudyTags() != null ? study.getStudyTags().stream().filter(BaseEntity::isValid).map(StudyTagDto::new).collect(Collectors.toList()) : null;
         this.studyEvals = study.getStudyEvals() != null ? study.getStudyEvals().stream().filter(BaseEntity::isValid).map(StudyEvalDto::new).collect(Collectors.toList()) : null;
-        this.studyNotices = study.getStudyNotices() != null ? study.getStudyNotices().stream().filter(BaseEntity::isValid).map(StudyNoticeDto.StudyNoticeRes::new).collect(Collectors.toList()) : null;
-        this.sessions = study.getSessions() != null ? study.getSessions().stream().filter(BaseEntity::isValid).map(SessionRes::new).collect(Collectors.toList()) : null;
+        this.studyNotices = studyNotices;
+        this.sessions = sessions;
         this.qnas = study.getQnas() != null ? study.getQnas().stream().filter(BaseEntity::isValid).map(QnaDto.Res::new).collect(Collectors.toList()) : null;
     }
 
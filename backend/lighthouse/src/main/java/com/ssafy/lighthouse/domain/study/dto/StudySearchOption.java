@@ -16,8 +16,12 @@ public class StudySearchOption {
     private int isOnline;
     private int status;
     private List<Long> tagIds;
+    // tagIds 일치 방식 : or (하나라도 포함, 기본값) | and (모두 포함)
+    private String tagMode;
     private Long sidoId;
     private Long gugunId;
+    // feed 조회용, 이전 응답의 nextCursor
+    private String cursor;
 
     public int getOffset() {
         return (this.page) * PAGE.LIMIT;
@@ -26,4 +30,8 @@ public class StudySearchOption {
     public int getLimit() {
         return PAGE.LIMIT;
     }
+
+    public boolean isMatchAllTags() {
+        return "and".equals(this.tagMode);
+    }
 }
@@ -20,6 +20,8 @@ import java.util.Set;
 public class Study extends BaseEntity {
     private String title;
     private String description;
+    // StudyHitCounter 가 update 로만 올린다, dirty study 의 update 가 flush 된 조회수를 덮어쓰지 않게 한다
+    @Column(updatable = false)
     private int hit;
     private String rule;
     private String startedAt;
@@ -29,7 +31,10 @@ public class Study extends BaseEntity {
     private int minMember;
     private int currentMember;
     private int isOnline;
+    // 좋아요 / 북마크 토글의 update 와 StudyReactionReconciler 만 바꾼다
+    @Column(updatable = false)
     private int likeCnt;
+    @Column(updatable = false)
     private int bookmarkCnt;
     private int status;
     private Long leaderId;
@@ -40,17 +45,6 @@ public class Study extends BaseEntity {
     public void share() {
         this.status = STATUS.SHARE; // share중인 상태
     }
-    
-    // hit 관리
-    public void addHit() {this.hit++;}
-    
-    // like 관리
-    public void addLike(){this.likeCnt++;}
-    public void removeLike(){this.likeCnt--;}
-    
-    // bookmark 관리
-    public void addBookmark(){this.bookmarkCnt++;}
-    public void removeBookmark(){this.bookmarkCnt--;}
 
     public void addMember() {this.currentMember++;}
     public void removeMember() {this.currentMember--;}
@@ -86,10 +80,10 @@ public class Study extends BaseEntity {
     @JoinColumn(name = "studyId", updatable = false)
     private Set<ParticipationHistory> participations;
 
+    // hit / likeCnt / bookmarkCnt 는 StudyHitCounter, StudyRepository.addLikeCnt / addBookmarkCnt, StudyReactionReconciler 만 변경한다
     public void update(Study study) {
         this.title = study.getTitle();
         this.description = study.getDescription();
-        this.hit = study.getHit();
         this.rule = study.getRule();
         this.startedAt = study.getStartedAt() != null ? study.getStartedAt() : LocalDateTime.now();
         this.endedAt = study.getEndedAt() != null ? study.getEndedAt() : LocalDateTime.now();
@@ -98,8 +92,6 @@ public class Study extends BaseEntity {
         this.minMember = study.getMinMember();
         this.currentMember = study.getCurrentMember();
         this.isOnline = study.getIsOnline();
-        this.likeCnt = study.getLikeCnt();
-        this.bookmarkCnt = study.getBookmarkCnt();
         this.status = study.getStatus();
         this.sidoId = study.getSidoId();
         this.gugunId = study.getGugunId();
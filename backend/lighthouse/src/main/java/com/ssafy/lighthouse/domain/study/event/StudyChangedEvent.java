@@ -0,0 +1,11 @@
+package com.ssafy.lighthouse.domain.study.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 스터디 생성 / 수정 / 삭제, 커밋 이후 인덱스 / 캐시 갱신에 사용
+@Getter
+@AllArgsConstructor
+public class StudyChangedEvent {
+    private final Long studyId;
+}
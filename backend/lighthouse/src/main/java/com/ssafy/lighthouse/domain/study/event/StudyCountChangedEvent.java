@@ -0,0 +1,13 @@
+package com.ssafy.lighthouse.domain.study.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 좋아요 / 북마크 수 변경 (+1 / -1), 수정 이벤트와 달리 색인은 다시 만들지 않는다
+@Getter
+@AllArgsConstructor
+public class StudyCountChangedEvent {
+    private final Long studyId;
+    private final int likeDelta;
+    private final int bookmarkDelta;
+}
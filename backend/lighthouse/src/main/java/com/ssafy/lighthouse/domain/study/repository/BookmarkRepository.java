@@ -2,6 +2,7 @@ package com.ssafy.lighthouse.domain.study.repository;
 
 import com.ssafy.lighthouse.domain.study.entity.Bookmark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -16,6 +17,21 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     @Query("select bm from Bookmark bm where bm.studyId = :studyId and bm.userId = :userId and bm.isValid = 1")
     Optional<Bookmark> find(@Param("studyId") Long studyId, @Param("userId") Long userId);
 
+    // (study_id, user_id) unique key 기준 멱등 등록 / 삭제, 반환값은 실제로 바뀐 row 수 (0 또는 1)
+    // 삭제했던 북마크 복구
+    @Modifying
+    @Query("update Bookmark bm set bm.isValid = 1 where bm.studyId = :studyId and bm.userId = :userId and bm.isValid = 0")
+    int restore(@Param("studyId") Long studyId, @Param("userId") Long userId);
+
+    // 처음 하는 북마크, 이미 있으면 무시
+    @Modifying
+    @Query(value = "insert ignore into bookmark (study_id, user_id) values (:studyId, :userId)", nativeQuery = true)
+    int insertIgnore(@Param("studyId") Long studyId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("update Bookmark bm set bm.isValid = 0 where bm.studyId = :studyId and bm.userId = :userId and bm.isValid = 1")
+    int remove(@Param("studyId") Long studyId, @Param("userId") Long userId);
+
     // userId 가 bookmark한 studyIdList
     @Query("select bm.studyId from Bookmark bm where bm.userId = :userId and bm.isValid = 1")
     Set<Long> findAllByUserId(@Param("userId") Long userId);
@@ -2,6 +2,7 @@ package com.ssafy.lighthouse.domain.study.repository;
 
 import com.ssafy.lighthouse.domain.study.entity.StudyLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -16,6 +17,21 @@ public interface StudyLikeRepository extends JpaRepository<StudyLike, Long> {
     @Query("select sl from StudyLike sl where sl.studyId = :studyId and sl.userId = :userId and sl.isValid = 1")
     Optional<StudyLike> find(@Param("studyId") Long studyId, @Param("userId") Long userId);
 
+    // (study_id, user_id) unique key 기준 멱등 등록 / 삭제, 반환값은 실제로 바뀐 row 수 (0 또는 1)
+    // 삭제했던 좋아요 복구
+    @Modifying
+    @Query("update StudyLike sl set sl.isValid = 1 where sl.studyId = :studyId and sl.userId = :userId and sl.isValid = 0")
+    int restore(@Param("studyId") Long studyId, @Param("userId") Long userId);
+
+    // 처음 누르는 좋아요, 이미 있으면 무시
+    @Modifying
+    @Query(value = "insert ignore into study_like (study_id, user_id) values (:studyId, :userId)", nativeQuery = true)
+    int insertIgnore(@Param("studyId") Long studyId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("update StudyLike sl set sl.isValid = 0 where sl.studyId = :studyId and sl.userId = :userId and sl.isValid = 1")
+    int remove(@Param("studyId") Long studyId, @Param("userId") Long userId);
+
     // userId의 studyIdList
     @Query("select sl.studyId from StudyLike sl where sl.userId = :userId and sl.isValid = 1")
     List<Long> findAllByUserId(@Param("userId") Long userId);
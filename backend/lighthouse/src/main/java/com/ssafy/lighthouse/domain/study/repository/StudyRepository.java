@@ -4,8 +4,8 @@ import com.ssafy.lighthouse.domain.study.dto.SimpleStudyDto;
 import com.ssafy.lighthouse.domain.study.entity.Study;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,19 +13,29 @@ import java.util.List;
 import java.util.Optional;
 
 public interface StudyRepository extends JpaRepository<Study, Long>, StudyRepositoryCustom {
-    // 상세 정보 조회 (상세정보)
-    @EntityGraph(attributePaths = {"badge", "studyTags", "studyEvals", "studyNotices", "sessions", "qnas", "participations"})
-    Optional<Study> findDetailById(@Param("studyId") Long studyId);
-
-    // 상세 정보 조회 (복제)
-    @EntityGraph(attributePaths = {"badge", "studyTags", "studyNotices", "sessions"})
-    @Query("select s from Study s where s.id = :studyId and s.isValid = 1")
-    Optional<Study> findSimpleDetailById(@Param("studyId") Long studyId);
+    // 상세 정보 조회 (상세정보, 복제)는 StudyRepositoryImpl 에서 컬렉션별로 나눠 조회
 
     // 단순 조회 (공유, 삭제용)
     @Query("select s from Study s where s.id = :studyId and s.isValid = 1")
     Optional<Study> findById(@Param("studyId") Long studyId);
 
+    // 리더 아이디 (상세 정보 리더 프로필)
+    @Query("select s.leaderId from Study s where s.id = :studyId")
+    Optional<Long> findLeaderIdById(@Param("studyId") Long studyId);
+
+    // 존재 여부만 확인 (좋아요, 북마크)
+    @Query("select count(s) > 0 from Study s where s.id = :studyId and s.isValid = 1")
+    boolean existsValidById(@Param("studyId") Long studyId);
+
+    // 좋아요 / 북마크 수 증감, row 를 바꾼 트랜잭션의 마지막 문장으로 실행해 study row 를 커밋 직전에만 잠근다
+    @Modifying
+    @Query(value = "UPDATE study SET like_cnt = GREATEST(like_cnt + :delta, 0) WHERE id = :studyId", nativeQuery = true)
+    int addLikeCnt(@Param("studyId") Long studyId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE study SET bookmark_cnt = GREATEST(bookmark_cnt + :delta, 0) WHERE id = :studyId", nativeQuery = true)
+    int addBookmarkCnt(@Param("studyId") Long studyId, @Param("delta") int delta);
+
     // 이전 스터디 목록 (좋아요 순)
     @Query("select new com.ssafy.lighthouse.domain.study.dto.SimpleStudyDto(s) from Study s where s.originalId = :originalId and s.isValid = 1 and s.status = 3 order by s.likeCnt desc ")
     Page<SimpleStudyDto> findAllByOriginalId(@Param("originalId") Long originalId, Pageable pageable);
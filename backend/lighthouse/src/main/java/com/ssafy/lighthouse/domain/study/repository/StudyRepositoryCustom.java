@@ -2,11 +2,23 @@ package com.ssafy.lighthouse.domain.study.repository;
 
 
 import com.ssafy.lighthouse.domain.study.dto.SimpleStudyDto;
+import com.ssafy.lighthouse.domain.study.dto.StudyFeedDto;
 import com.ssafy.lighthouse.domain.study.dto.StudySearchOption;
+import com.ssafy.lighthouse.domain.study.entity.Session;
+import com.ssafy.lighthouse.domain.study.entity.Study;
+import com.ssafy.lighthouse.domain.study.entity.StudyNotice;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface StudyRepositoryCustom {
     Page<SimpleStudyDto> findAllByStudySearchOption(StudySearchOption studySearchOption);
+    StudyFeedDto findFeedByStudySearchOption(StudySearchOption studySearchOption);
+    Optional<Study> findDetailById(Long studyId);
+    Optional<Study> findSimpleDetailById(Long studyId);
+    Optional<Study> findCoreById(Long studyId);
+    List<StudyNotice> findNoticesByStudyId(Long studyId);
+    List<Session> findSessionsByStudyId(Long studyId);
+    List<Long> findMemberIdsByStudyId(Long studyId);
 }
@@ -3,30 +3,48 @@ package com.ssafy.lighthouse.domain.study.repository;
 
 import com.querydsl.core.types.*;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.ssafy.lighthouse.domain.common.entity.QBadge;
 import com.ssafy.lighthouse.domain.study.dto.SimpleStudyDto;
+import com.ssafy.lighthouse.domain.study.dto.StudyFeedDto;
 import com.ssafy.lighthouse.domain.study.dto.StudySearchOption;
+import com.ssafy.lighthouse.domain.study.entity.Session;
 import com.ssafy.lighthouse.domain.study.entity.Study;
+import com.ssafy.lighthouse.domain.study.entity.StudyNotice;
+import com.ssafy.lighthouse.domain.study.exception.StudyException;
+import com.ssafy.lighthouse.domain.study.search.StudyFilterIndex;
+import com.ssafy.lighthouse.domain.study.search.StudySearchIndex;
+import com.ssafy.lighthouse.domain.user.dto.SimpleProfileResponse;
 import com.ssafy.lighthouse.domain.user.entity.QUser;
 import com.ssafy.lighthouse.domain.user.repository.UserRepository;
+import com.ssafy.lighthouse.global.util.ERROR;
 import com.ssafy.lighthouse.global.util.PAGE;
+import com.ssafy.lighthouse.global.util.STATUS;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.ssafy.lighthouse.domain.common.entity.QBadge.badge;
 import static com.ssafy.lighthouse.domain.common.entity.QGugun.gugun;
 import static com.ssafy.lighthouse.domain.common.entity.QSido.sido;
+import static com.ssafy.lighthouse.domain.study.entity.QParticipationHistory.participationHistory;
+import static com.ssafy.lighthouse.domain.study.entity.QSession.session;
 import static com.ssafy.lighthouse.domain.study.entity.QStudy.study;
+import static com.ssafy.lighthouse.domain.study.entity.QStudyNotice.studyNotice;
 import static com.ssafy.lighthouse.domain.study.entity.QStudyTag.studyTag;
 import static com.ssafy.lighthouse.domain.user.entity.QUser.user;
 
@@ -37,58 +55,430 @@ public class StudyRepositoryImpl implements StudyRepositoryCustom {
 
     private final JPAQueryFactory jpaQueryFactory;
     private final UserRepository userRepository;
+    private final StudySearchIndex studySearchIndex;
+    private final StudyFilterIndex studyFilterIndex;
+
+    // bitmap 결과를 IN 절로 넘길 최대 크기
+    @Value("${study.filter.max-in:1000}")
+    private int studyFilterMaxIn;
+
+    // 상세 정보 조회 (상세정보, 수정)
+    // 컬렉션을 한 번에 fetch join 하면 row 수가 컬렉션 크기의 곱이 되므로 컬렉션마다 따로 fetch join 해서 같은 Study 인스턴스에 채운다
+    // 쿼리 수는 컬렉션 수만큼 고정, row 수는 컬렉션 크기의 합
+    @Override
+    public Optional<Study> findDetailById(Long studyId) {
+        Study result = jpaQueryFactory.selectFrom(study)
+                .leftJoin(study.badge, badge).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetchOne();
+        if(result == null) return Optional.empty();
+
+        fetchStudyTags(studyId);
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.studyEvals).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+        fetchStudyNotices(studyId);
+        fetchSessions(studyId);
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.qnas).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.participations).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+        return Optional.of(result);
+    }
+
+    // 상세 정보 조회 (복제)
+    @Override
+    public Optional<Study> findSimpleDetailById(Long studyId) {
+        Study result = jpaQueryFactory.selectFrom(study)
+                .leftJoin(study.badge, badge).fetchJoin()
+                .where(study.id.eq(studyId), study.isValid.eq(1))
+                .fetchOne();
+        if(result == null) return Optional.empty();
+
+        fetchStudyTags(studyId);
+        fetchStudyNotices(studyId);
+        fetchSessions(studyId);
+        return Optional.of(result);
+    }
+
+    // 상세 정보 섹션별 조회 (StudyServiceImpl.findDetailByStudyId 에서 동시에 실행)
+    // 본문 : badge, studyTags, studyEvals, qnas (공지, 세션, 참여자는 따로)
+    @Override
+    public Optional<Study> findCoreById(Long studyId) {
+        Study result = jpaQueryFactory.selectFrom(study)
+                .leftJoin(study.badge, badge).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetchOne();
+        if(result == null) return Optional.empty();
+
+        fetchStudyTags(studyId);
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.studyEvals).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.qnas).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+        return Optional.of(result);
+    }
+
+    // 유효한 공지 + 확인 목록
+    @Override
+    public List<StudyNotice> findNoticesByStudyId(Long studyId) {
+        return jpaQueryFactory.selectFrom(studyNotice).distinct()
+                .leftJoin(studyNotice.studyNoticeChecks).fetchJoin()
+                .where(studyNotice.studyId.eq(studyId), studyNotice.isValid.eq(1))
+                .orderBy(studyNotice.id.asc())
+                .fetch();
+    }
+
+    // 유효한 세션 + 자료, 확인 목록
+    @Override
+    public List<Session> findSessionsByStudyId(Long studyId) {
+        List<Session> sessions = jpaQueryFactory.selectFrom(session).distinct()
+                .leftJoin(session.studyMaterials).fetchJoin()
+                .where(session.studyId.eq(studyId), session.isValid.eq(1))
+                .orderBy(session.id.asc())
+                .fetch();
+        jpaQueryFactory.selectFrom(session).distinct()
+                .leftJoin(session.sessionChecks).fetchJoin()
+                .where(session.studyId.eq(studyId), session.isValid.eq(1))
+                .fetch();
+        return sessions;
+    }
+
+    // 스터디의 현재 상태로 참여 중인 유저 (ParticipationHistory.checkStatus 와 같은 조건, 공유 중이면 종료 상태)
+    @Override
+    public List<Long> findMemberIdsByStudyId(Long studyId) {
+        return jpaQueryFactory.select(participationHistory.userId)
+                .from(participationHistory, study)
+                .where(study.id.eq(studyId),
+                        participationHistory.studyId.eq(study.id),
+                        participationHistory.isValid.eq(1),
+                        participationHistory.status.eq(new CaseBuilder()
+                                .when(study.status.eq(STATUS.SHARE)).then(STATUS.TERMINATED)
+                                .otherwise(study.status)))
+                .orderBy(participationHistory.id.asc())
+                .fetch();
+    }
+
+    // studyTags + tag
+    private void fetchStudyTags(Long studyId) {
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.studyTags, studyTag).fetchJoin()
+                .leftJoin(studyTag.tag).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+    }
+
+    // studyNotices + studyNoticeChecks (공지별 확인 목록, row 수는 확인 수의 합)
+    private void fetchStudyNotices(Long studyId) {
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.studyNotices, studyNotice).fetchJoin()
+                .leftJoin(studyNotice.studyNoticeChecks).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+    }
+
+    // sessions + studyMaterials, sessionChecks 는 같은 Session 인스턴스에 따로 채운다
+    private void fetchSessions(Long studyId) {
+        jpaQueryFactory.selectFrom(study).distinct()
+                .leftJoin(study.sessions, session).fetchJoin()
+                .leftJoin(session.studyMaterials).fetchJoin()
+                .where(study.id.eq(studyId))
+                .fetch();
+        jpaQueryFactory.selectFrom(session).distinct()
+                .leftJoin(session.sessionChecks).fetchJoin()
+                .where(session.studyId.eq(studyId))
+                .fetch();
+    }
 
     @Override
     public Page<SimpleStudyDto> findAllByStudySearchOption(StudySearchOption options) {
         // 정렬 정보 가져오기
         OrderSpecifier<?> orderSpecifier = sortByOptions(options);
+        Sort sort = Sort.by(orderSpecifier.isAscending() ? Sort.Direction.ASC : Sort.Direction.DESC,
+                options.getOrderKey() == null ? "createdAt" : options.getOrderKey());
+        PageRequest pageable = PageRequest.of(options.getPage(), PAGE.LIMIT, sort);
+
+        // 검색어가 있으면 색인에서 일치하는 studyId -> 관련도
+        Map<Long, Double> matches = null;
+        if(options.getKey() != null && studySearchIndex.isReady() && studySearchIndex.supports(options.getWord())) {
+            matches = studySearchIndex.search(options.getKey(), options.getWord());
+            if(matches.isEmpty()) return new PageImpl<>(new ArrayList<>(), pageable, 0);
+
+            // 정렬 기준이 없으면 관련도 순
+            if(options.getOrderKey() == null) return findAllByRelevance(options, matches, pageable);
+        }
+
+        // tag 조건은 bitmap 색인으로 계산
+        if(options.getTagIds() != null && !options.getTagIds().isEmpty() && studyFilterIndex.isReady()) {
+            Page<SimpleStudyDto> result = findAllByFilterIndex(options, matches, orderSpecifier, pageable);
+            if(result != null) return result;
+        }
 
         // contents 구하기
         List<Study> studyList = jpaQueryFactory
                 .select(study)
                 .from(study)
-                .leftJoin(study.studyTags, studyTag).on(studyTag.isValid.eq(1))
                 .leftJoin(study.badge, badge).on(badge.isValid.eq(1))
-                .where(
-                        isValid(),
-                        checkStatus(options),
-                        isOnline(options),
-                        checkByTagIds(options),
-                        searchByKeyword(options))
-                .groupBy(study)
+                .where(searchConditions(options, matches))
                 .orderBy(orderSpecifier)
                 .offset(options.getOffset())
                 .limit(options.getLimit())
                 .fetch();
 
-        List<SimpleStudyDto> contents = studyList.stream().map(study -> {
-            SimpleStudyDto simpleStudyDto = new SimpleStudyDto(study);
-            simpleStudyDto.setLeaderProfile(userRepository.findSimpleProfileByUserId(study.getLeaderId()));
-            return simpleStudyDto;
-        }).collect(Collectors.toList());
+        List<SimpleStudyDto> contents = toSimpleStudyDtos(studyList);
 
         // total 구하기
         Long total = jpaQueryFactory.select(study.count())
                 .from(study)
-                .where(
-                        isValid(),
-                        checkStatus(options),
-                        isOnline(options),
-                        checkByTagIds(options),
-                        searchByKeyword(options),
-                        checkSidoId(options.getSidoId()),
-                        checkGugunId(options.getGugunId()))
+                .where(searchConditions(options, matches))
                 .fetchOne();
         if(total == null) total = 0L;
         log.debug("total : {}", total);
 
         // Page<SimpleStudyDto>로 변환
-        Sort sort = Sort.by(orderSpecifier.isAscending() ? Sort.Direction.ASC : Sort.Direction.DESC,
-                options.getOrderKey() == null ? "createdAt" : options.getOrderKey());
-        PageRequest pageable = PageRequest.of(options.getPage(), PAGE.LIMIT, sort);
         return new PageImpl<>(contents, pageable, total);
     }
 
+    // cursor(keyset) 기반 조회 : (정렬 컬럼, id) 가 cursor 다음인 행부터 limit개
+    // offset 없이 인덱스를 따라가므로 페이지가 깊어져도 비용이 같다, 검색어가 있으면 관련도 대신 정렬 컬럼 순
+    @Override
+    public StudyFeedDto findFeedByStudySearchOption(StudySearchOption options) {
+        String orderKey = feedOrderKey(options.getOrderKey());
+        boolean asc = "asc".equals(options.getOrderBy());
+
+        Map<Long, Double> matches = null;
+        if(options.getKey() != null && studySearchIndex.isReady() && studySearchIndex.supports(options.getWord())) {
+            matches = studySearchIndex.search(options.getKey(), options.getWord());
+            if(matches.isEmpty()) return new StudyFeedDto(new ArrayList<>(), null, false, options.getCursor() == null ? 0L : null);
+        }
+
+        ComparableExpressionBase<?> orderPath = feedOrderPath(orderKey);
+        List<Study> studyList = jpaQueryFactory
+                .select(study)
+                .from(study)
+                .leftJoin(study.badge, badge).on(badge.isValid.eq(1))
+                .where(searchConditions(options, matches))
+                .where(afterCursor(orderKey, asc, options.getCursor()))
+                .orderBy(asc ? orderPath.asc() : orderPath.desc(), asc ? study.id.asc() : study.id.desc())
+                .limit(options.getLimit() + 1)
+                .fetch();
+
+        boolean hasNext = studyList.size() > options.getLimit();
+        if(hasNext) studyList = studyList.subList(0, options.getLimit());
+        String nextCursor = hasNext ? encodeCursor(orderKey, studyList.get(studyList.size() - 1)) : null;
+
+        // total은 첫 페이지에서만
+        Long total = null;
+        if(options.getCursor() == null) {
+            total = jpaQueryFactory.select(study.count())
+                    .from(study)
+                    .where(searchConditions(options, matches))
+                    .fetchOne();
+            if(total == null) total = 0L;
+        }
+
+        return new StudyFeedDto(toSimpleStudyDtos(studyList), nextCursor, hasNext, total);
+    }
+
+    private String feedOrderKey(String orderKey) {
+        if(orderKey == null) return "createdAt";
+        switch (orderKey) {
+            case "hit": case "like": case "bookmark":
+                return orderKey;
+            default:
+                return "createdAt";
+        }
+    }
+
+    private ComparableExpressionBase<?> feedOrderPath(String orderKey) {
+        switch (orderKey) {
+            case "hit":
+                return study.hit;
+            case "like":
+                return study.likeCnt;
+            case "bookmark":
+                return study.bookmarkCnt;
+            default:
+                return study.createdAt;
+        }
+    }
+
+    // cursor = base64url("{정렬 컬럼 값}|{id}")
+    private String encodeCursor(String orderKey, Study last) {
+        String value;
+        switch (orderKey) {
+            case "hit":
+                value = String.valueOf(last.getHit());
+                break;
+            case "like":
+                value = String.valueOf(last.getLikeCnt());
+                break;
+            case "bookmark":
+                value = String.valueOf(last.getBookmarkCnt());
+                break;
+            default:
+                value = last.getCreatedAt();
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((value + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // (정렬 컬럼, id) 가 cursor 다음인 행
+    private BooleanExpression afterCursor(String orderKey, boolean asc, String cursor) {
+        if(cursor == null) return null;
+
+        String value;
+        Long id;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            value = decoded.substring(0, separator);
+            id = Long.parseLong(decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new StudyException(ERROR.FIND);
+        }
+
+        switch (orderKey) {
+            case "hit":
+                return afterCursor(study.hit, parseCursorValue(value), id, asc);
+            case "like":
+                return afterCursor(study.likeCnt, parseCursorValue(value), id, asc);
+            case "bookmark":
+                return afterCursor(study.bookmarkCnt, parseCursorValue(value), id, asc);
+            default:
+                return asc
+                        ? study.createdAt.gt(value).or(study.createdAt.eq(value).and(study.id.gt(id)))
+                        : study.createdAt.lt(value).or(study.createdAt.eq(value).and(study.id.lt(id)));
+        }
+    }
+
+    private BooleanExpression afterCursor(NumberPath<Integer> path, int value, Long id, boolean asc) {
+        return asc
+                ? path.gt(value).or(path.eq(value).and(study.id.gt(id)))
+                : path.lt(value).or(path.eq(value).and(study.id.lt(id)));
+    }
+
+    private int parseCursorValue(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new StudyException(ERROR.FIND);
+        }
+    }
+
+    // 검색 결과를 관련도 순으로 정렬, 조건에 맞는 id만 조회한 뒤 해당 페이지의 스터디만 가져온다
+    private Page<SimpleStudyDto> findAllByRelevance(StudySearchOption options, Map<Long, Double> matches, PageRequest pageable) {
+        List<Long> studyIds = jpaQueryFactory
+                .select(study.id)
+                .from(study)
+                .where(searchConditions(options, matches))
+                .fetch();
+
+        // 관련도 내림차순, 같으면 최신 스터디 먼저
+        studyIds.sort(Comparator.comparing((Long id) -> matches.get(id)).reversed().thenComparing(Comparator.reverseOrder()));
+        int from = Math.min(options.getOffset(), studyIds.size());
+        List<Long> pageIds = studyIds.subList(from, Math.min(from + options.getLimit(), studyIds.size()));
+        if(pageIds.isEmpty()) return new PageImpl<>(new ArrayList<>(), pageable, studyIds.size());
+
+        return new PageImpl<>(toSimpleStudyDtos(findAllByIdsInOrder(pageIds, options, matches)), pageable, studyIds.size());
+    }
+
+    // 검색 조건을 bitmap 색인으로 계산해 DB는 해당 페이지의 스터디만 조회, 결과 집합의 크기가 곧 total
+    // 정렬 컬럼이 hit / like / bookmark이고 결과가 studyFilterMaxIn보다 많으면 null (DB에서 필터링)
+    private Page<SimpleStudyDto> findAllByFilterIndex(StudySearchOption options, Map<Long, Double> matches,
+                                                      OrderSpecifier<?> orderSpecifier, PageRequest pageable) {
+        BitSet candidates = studyFilterIndex.filter(options);
+        if(matches != null) {
+            BitSet matched = new BitSet();
+            matches.keySet().forEach(id -> matched.set(Math.toIntExact(id)));
+            candidates.and(matched);
+        }
+        int total = candidates.cardinality();
+
+        List<Long> pageIds = new ArrayList<>();
+        if("createdAt".equals(feedOrderKey(options.getOrderKey()))) {
+            // createdAt은 insert 시각이라 id 순서와 같다, DB 없이 페이지의 id를 구한다
+            int skip = options.getOffset();
+            boolean asc = orderSpecifier.isAscending();
+            for(int i = asc ? candidates.nextSetBit(0) : candidates.previousSetBit(candidates.length() - 1);
+                i >= 0 && pageIds.size() < options.getLimit();
+                i = asc ? candidates.nextSetBit(i + 1) : candidates.previousSetBit(i - 1)) {
+                if(skip > 0) {
+                    skip--;
+                    continue;
+                }
+                pageIds.add((long) i);
+            }
+        } else {
+            if(total > studyFilterMaxIn) return null;
+            if(total > 0) {
+                List<Long> ids = new ArrayList<>(total);
+                candidates.stream().forEach(i -> ids.add((long) i));
+                pageIds = jpaQueryFactory
+                        .select(study.id)
+                        .from(study)
+                        .where(study.id.in(ids))
+                        .where(searchConditions(options, matches))
+                        .orderBy(orderSpecifier, study.id.desc())
+                        .offset(options.getOffset())
+                        .limit(options.getLimit())
+                        .fetch();
+            }
+        }
+
+        return new PageImpl<>(toSimpleStudyDtos(findAllByIdsInOrder(pageIds, options, matches)), pageable, total);
+    }
+
+    // ids 순서대로 스터디 조회, 색인은 DB보다 늦을 수 있어 검색 조건을 다시 확인한다
+    private List<Study> findAllByIdsInOrder(List<Long> ids, StudySearchOption options, Map<Long, Double> matches) {
+        if(ids.isEmpty()) return new ArrayList<>();
+
+        Map<Long, Study> studies = jpaQueryFactory
+                .selectFrom(study)
+                .leftJoin(study.badge, badge).fetchJoin()
+                .where(study.id.in(ids))
+                .where(searchConditions(options, matches))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Study::getId, Function.identity()));
+
+        return ids.stream().map(studies::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private List<SimpleStudyDto> toSimpleStudyDtos(List<Study> studyList) {
+        // leader profile은 페이지 단위로 한번에 조회
+        Map<Long, SimpleProfileResponse> leaderProfiles = userRepository.findSimpleProfileMapByUserIds(
+                studyList.stream().map(Study::getLeaderId).collect(Collectors.toSet()));
+
+        return studyList.stream().map(study -> {
+            SimpleStudyDto simpleStudyDto = new SimpleStudyDto(study);
+            simpleStudyDto.setLeaderProfile(leaderProfiles.get(study.getLeaderId()));
+            return simpleStudyDto;
+        }).collect(Collectors.toList());
+    }
+
+    // 목록 / total / feed / 관련도 조회가 모두 같은 조건을 사용한다
+    private BooleanExpression[] searchConditions(StudySearchOption options, Map<Long, Double> matches) {
+        return new BooleanExpression[] {
+                isValid(),
+                checkStatus(options),
+                isOnline(options),
+                checkSidoId(options.getSidoId()),
+                checkGugunId(options.getGugunId()),
+                checkByTagIds(options),
+                searchByKeyword(options, matches)
+        };
+    }
+
     // 구군 일치 여부 확인
     private BooleanExpression checkGugunId(Long gugunId) {
         return gugunId != null ? study.gugunId.eq(gugunId) : null;
@@ -99,9 +489,27 @@ public class StudyRepositoryImpl implements StudyRepositoryCustom {
         return sidoId != null ? study.sidoId.eq(sidoId) : null;
     }
 
-    // tag 일치 여부 확인
+    // tag 일치 여부 확인 (or : 하나라도 포함, and : 모두 포함), join + group by 대신 exists
     private BooleanExpression checkByTagIds(StudySearchOption options) {
-        return options.getTagIds() != null ? studyTag.tag.id.in(options.getTagIds()) : null;
+        List<Long> tagIds = options.getTagIds();
+        if(tagIds == null || tagIds.isEmpty()) return null;
+
+        if(!options.isMatchAllTags()) {
+            return JPAExpressions.selectOne()
+                    .from(studyTag)
+                    .where(studyTag.studyId.eq(study.id), studyTag.isValid.eq(1), studyTag.tag.id.in(tagIds))
+                    .exists();
+        }
+
+        BooleanExpression result = null;
+        for(Long tagId : new LinkedHashSet<>(tagIds)) {
+            BooleanExpression hasTag = JPAExpressions.selectOne()
+                    .from(studyTag)
+                    .where(studyTag.studyId.eq(study.id), studyTag.isValid.eq(1), studyTag.tag.id.eq(tagId))
+                    .exists();
+            result = result == null ? hasTag : result.and(hasTag);
+        }
+        return result;
     }
 
     // 유효한 스터디 인지 확인
@@ -119,13 +527,16 @@ public class StudyRepositoryImpl implements StudyRepositoryCustom {
         return study.isOnline.eq(options.getIsOnline());
     }
 
-    // 스터디 검색 (제목 ...)
-    private BooleanExpression searchByKeyword(StudySearchOption options) {
+    // 스터디 검색 (제목 ...), 색인 결과가 있으면 그 id로 제한
+    private BooleanExpression searchByKeyword(StudySearchOption options, Map<Long, Double> matches) {
         String key = options.getKey();
         String word = options.getWord();
 
         // key값이 없으면 null
         if(key == null) return null;
+        if(matches != null) return study.id.in(matches.keySet());
+
+        // 색인이 준비되기 전이나 색인으로 찾을 수 없는 검색어는 DB에서 검색
 
         switch (key) {
             case "title":
@@ -0,0 +1,17 @@
+package com.ssafy.lighthouse.domain.study.search;
+
+import com.ssafy.lighthouse.domain.study.dto.StudySearchOption;
+
+import java.util.BitSet;
+
+public interface StudyFilterIndex {
+    // 첫 빌드가 끝났는지 여부, 그 전에는 DB에서 필터링
+    boolean isReady();
+
+    // 유효 / status / isOnline / tag(and, or) / 시도 / 구군 조건을 모두 만족하는 studyId 집합
+    BitSet filter(StudySearchOption options);
+
+    void reindexStudy(Long studyId);
+
+    void rebuild();
+}
@@ -0,0 +1,225 @@
+package com.ssafy.lighthouse.domain.study.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.ssafy.lighthouse.domain.study.dto.StudySearchOption;
+import com.ssafy.lighthouse.domain.study.event.StudyChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ssafy.lighthouse.domain.study.entity.QStudy.study;
+import static com.ssafy.lighthouse.domain.study.entity.QStudyTag.studyTag;
+
+// 조건별 studyId bitmap (tag, status, isOnline, 시도, 구군), 검색 조건은 bitmap 교집합 / 합집합으로 계산한다
+// studyId는 auto increment라 밀집되어 있어 BitSet 하나가 곧 압축된 id 목록이 된다
+// 읽기는 lock 없이 현재 Segment를 사용하고, 쓰기는 바뀐 bitmap만 복사한 새 Segment로 교체한다 (copy-on-write)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyFilterIndexImpl implements StudyFilterIndex {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    private volatile Segment segment;
+    // rebuild 는 한 번에 하나만
+    private final Object buildLock = new Object();
+    // studyId -> 색인된 값, 재색인 시 이전 bitmap에서 지우기 위해 보관 (쓰기 lock 안에서만 사용)
+    private final Map<Long, Row> rows = new ConcurrentHashMap<>();
+    // rebuild 스캔 중에 재색인된 studyId, 스캔이 그 변경을 못 봤을 수 있어 교체 후 다시 색인한다 (쓰기 lock 안에서만 사용)
+    private Set<Long> reindexedDuringBuild;
+
+    @Override
+    public boolean isReady() {
+        return segment != null;
+    }
+
+    @Override
+    public BitSet filter(StudySearchOption options) {
+        Segment current = segment;
+        BitSet result = (BitSet) current.valid.clone();
+
+        result.and(current.status.getOrDefault(options.getStatus(), new BitSet()));
+        if (options.getIsOnline() == 1) {
+            result.and(current.online);
+        } else {
+            result.andNot(current.online);
+        }
+
+        List<Long> tagIds = options.getTagIds();
+        if (tagIds != null && !tagIds.isEmpty()) {
+            if (options.isMatchAllTags()) {
+                for (Long tagId : tagIds) {
+                    result.and(current.tags.getOrDefault(tagId, new BitSet()));
+                }
+            } else {
+                BitSet any = new BitSet();
+                for (Long tagId : tagIds) {
+                    BitSet tagged = current.tags.get(tagId);
+                    if (tagged != null) any.or(tagged);
+                }
+                result.and(any);
+            }
+        }
+
+        if (options.getSidoId() != null) result.and(current.sido.getOrDefault(options.getSidoId(), new BitSet()));
+        if (options.getGugunId() != null) result.and(current.gugun.getOrDefault(options.getGugunId(), new BitSet()));
+        return result;
+    }
+
+    @Override
+    public synchronized void reindexStudy(Long studyId) {
+        if (reindexedDuringBuild != null) reindexedDuringBuild.add(studyId);
+        Segment current = segment;
+        if (current == null) return;
+
+        Tuple tuple = jpaQueryFactory.select(study.id, study.status, study.isOnline, study.sidoId, study.gugunId)
+                .from(study)
+                .where(study.id.eq(studyId), study.isValid.eq(1))
+                .fetchOne();
+        Row row = tuple == null ? null : toRow(tuple, new HashSet<>(jpaQueryFactory.select(studyTag.tag.id)
+                .from(studyTag)
+                .where(studyTag.studyId.eq(studyId), studyTag.isValid.eq(1))
+                .fetch()));
+
+        Segment next = current.copy();
+        Row prev = rows.remove(studyId);
+        if (prev != null) next.set(studyId, prev, false);
+        if (row != null) {
+            next.set(studyId, row, true);
+            rows.put(studyId, row);
+        }
+        segment = next;
+    }
+
+    // 전체 재색인, 스캔은 lock 밖에서 하고 스캔 중 재색인된 스터디는 교체 후 다시 반영한다
+    @Override
+    @Scheduled(fixedDelayString = "${study.filter.rebuild-ms:600000}")
+    public void rebuild() {
+        synchronized (buildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                reindexedDuringBuild = new HashSet<>();
+            }
+            try {
+                Map<Long, Set<Long>> studyTags = new HashMap<>();
+                jpaQueryFactory.select(studyTag.studyId, studyTag.tag.id)
+                        .from(studyTag)
+                        .where(studyTag.isValid.eq(1))
+                        .fetch()
+                        .forEach(tuple -> studyTags.computeIfAbsent(tuple.get(studyTag.studyId), id -> new HashSet<>()).add(tuple.get(studyTag.tag.id)));
+
+                Segment built = new Segment();
+                Map<Long, Row> builtRows = new HashMap<>();
+                jpaQueryFactory.select(study.id, study.status, study.isOnline, study.sidoId, study.gugunId)
+                        .from(study)
+                        .where(study.isValid.eq(1))
+                        .fetch()
+                        .forEach(tuple -> {
+                            Long studyId = tuple.get(study.id);
+                            Row row = toRow(tuple, studyTags.getOrDefault(studyId, Collections.emptySet()));
+                            built.set(studyId, row, true);
+                            builtRows.put(studyId, row);
+                        });
+
+                synchronized (this) {
+                    rows.clear();
+                    rows.putAll(builtRows);
+                    segment = built;
+
+                    Set<Long> replay = reindexedDuringBuild;
+                    reindexedDuringBuild = null;
+                    for (Long studyId : replay) {
+                        reindexStudy(studyId);
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    reindexedDuringBuild = null;
+                }
+            }
+            log.debug("study filter index built in {}ms", System.currentTimeMillis() - start);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudyChanged(StudyChangedEvent event) {
+        reindexStudy(event.getStudyId());
+    }
+
+    private Row toRow(Tuple tuple, Set<Long> tagIds) {
+        Integer isOnline = tuple.get(study.isOnline);
+        return new Row(tuple.get(study.status), isOnline != null && isOnline == 1,
+                tuple.get(study.sidoId), tuple.get(study.gugunId), tagIds);
+    }
+
+    @AllArgsConstructor
+    private static class Row {
+        private final Integer status;
+        private final boolean online;
+        private final Long sidoId;
+        private final Long gugunId;
+        private final Set<Long> tagIds;
+    }
+
+    private static class Segment {
+        private BitSet valid = new BitSet();
+        private BitSet online = new BitSet();
+        private Map<Integer, BitSet> status = new HashMap<>();
+        private Map<Long, BitSet> sido = new HashMap<>();
+        private Map<Long, BitSet> gugun = new HashMap<>();
+        private Map<Long, BitSet> tags = new HashMap<>();
+        // 이 Segment에서 이미 복사한 bitmap, 이전 Segment와 공유하는 bitmap은 수정하지 않는다
+        private final Set<BitSet> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // map은 얕은 복사, bitmap은 수정할 때 복사
+        private Segment copy() {
+            Segment next = new Segment();
+            next.valid = valid;
+            next.online = online;
+            next.status = new HashMap<>(status);
+            next.sido = new HashMap<>(sido);
+            next.gugun = new HashMap<>(gugun);
+            next.tags = new HashMap<>(tags);
+            return next;
+        }
+
+        private void set(Long studyId, Row row, boolean value) {
+            int index = Math.toIntExact(studyId);
+            valid = update(valid, index, value);
+            if (row.online) online = update(online, index, value);
+            if (row.status != null) update(status, row.status, index, value);
+            if (row.sidoId != null) update(sido, row.sidoId, index, value);
+            if (row.gugunId != null) update(gugun, row.gugunId, index, value);
+            for (Long tagId : row.tagIds) {
+                update(tags, tagId, index, value);
+            }
+        }
+
+        private <K> void update(Map<K, BitSet> bitmaps, K key, int index, boolean value) {
+            BitSet bitmap = bitmaps.get(key);
+            if (bitmap == null) {
+                if (!value) return;
+                bitmap = new BitSet();
+                owned.add(bitmap);
+            }
+            bitmaps.put(key, update(bitmap, index, value));
+        }
+
+        private BitSet update(BitSet bitmap, int index, boolean value) {
+            if (!owned.contains(bitmap)) {
+                bitmap = (BitSet) bitmap.clone();
+                owned.add(bitmap);
+            }
+            bitmap.set(index, value);
+            return bitmap;
+        }
+    }
+}
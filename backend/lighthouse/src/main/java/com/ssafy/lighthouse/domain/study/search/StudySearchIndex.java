@@ -0,0 +1,21 @@
+package com.ssafy.lighthouse.domain.study.search;
+
+import java.util.Map;
+
+public interface StudySearchIndex {
+    // 첫 빌드가 끝났는지 여부, 그 전에는 DB 검색을 사용
+    boolean isReady();
+
+    // 색인으로 답할 수 있는 검색어인지, 한 글자 토큰은 bigram으로 찾을 수 없어 DB 검색(LIKE)을 사용
+    boolean supports(String word);
+
+    // key : title, description, leader
+    // 일치하는 studyId -> 관련도 점수 (높을수록 관련도 높음)
+    Map<Long, Double> search(String key, String word);
+
+    void reindexStudy(Long studyId);
+
+    void reindexUser(Long userId);
+
+    void rebuild();
+}
@@ -0,0 +1,290 @@
+package com.ssafy.lighthouse.domain.study.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.ssafy.lighthouse.domain.study.event.StudyChangedEvent;
+import com.ssafy.lighthouse.domain.user.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ssafy.lighthouse.domain.study.entity.QStudy.study;
+import static com.ssafy.lighthouse.domain.user.entity.QUser.user;
+
+// 스터디 제목 / 설명, 유저 닉네임의 n-gram 역색인 (메모리)
+// 토큰을 bigram으로 색인하고 검색어의 gram을 모두 포함하는 문서만 찾는다, 한 글자 토큰이 있는 검색어는 DB에서 찾는다
+// 변경은 StudyChangedEvent / UserChangedEvent로 커밋 후 반영, 다른 인스턴스의 변경은 주기적인 rebuild로 반영
+@Slf4j
+@Component
+public class StudySearchIndexImpl implements StudySearchIndex {
+
+    private final JPAQueryFactory jpaQueryFactory;
+    // 검색 결과 상한 (점수 순), IN 절 크기를 제한
+    private final int maxResults;
+
+    private volatile Segment segment;
+    // rebuild 는 한 번에 하나만
+    private final Object buildLock = new Object();
+    // rebuild 스캔 중에 재색인된 studyId / userId, 스캔이 그 변경을 못 봤을 수 있어 교체 후 다시 색인한다 (this lock 안에서만 사용)
+    private Set<Long> studiesReindexedDuringBuild;
+    private Set<Long> usersReindexedDuringBuild;
+
+    public StudySearchIndexImpl(JPAQueryFactory jpaQueryFactory,
+                                @Value("${study.search.max-results:1000}") int maxResults) {
+        this.jpaQueryFactory = jpaQueryFactory;
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public boolean isReady() {
+        return segment != null;
+    }
+
+    @Override
+    public boolean supports(String word) {
+        if (word == null || word.trim().isEmpty()) return false;
+        for (String token : word.trim().split("\\s+")) {
+            if (token.length() < 2) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Map<Long, Double> search(String key, String word) {
+        Segment current = segment;
+        List<String> grams = grams(word);
+        if (current == null || grams.isEmpty() || key == null) return Collections.emptyMap();
+
+        Map<Long, Double> result;
+        switch (key) {
+            case "title":
+                result = current.title.match(grams);
+                break;
+            case "description":
+                result = current.description.match(grams);
+                break;
+            case "leader":
+                // leader의 nickname 점수를 그 유저가 리더인 스터디에 부여
+                result = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : current.nickname.match(grams).entrySet()) {
+                    Set<Long> studyIds = current.leaderStudies.get(entry.getKey());
+                    if (studyIds == null) continue;
+                    for (Long studyId : studyIds) {
+                        result.merge(studyId, entry.getValue(), Double::sum);
+                    }
+                }
+                break;
+            default:
+                return Collections.emptyMap();
+        }
+        return top(result);
+    }
+
+    @Override
+    public synchronized void reindexStudy(Long studyId) {
+        if (studiesReindexedDuringBuild != null) studiesReindexedDuringBuild.add(studyId);
+        Segment current = segment;
+        if (current == null) return;
+
+        Tuple row = jpaQueryFactory.select(study.id, study.title, study.description, study.leaderId)
+                .from(study)
+                .where(study.id.eq(studyId), study.isValid.eq(1))
+                .fetchOne();
+        current.removeStudy(studyId);
+        if (row != null) current.addStudy(row);
+    }
+
+    @Override
+    public synchronized void reindexUser(Long userId) {
+        if (usersReindexedDuringBuild != null) usersReindexedDuringBuild.add(userId);
+        Segment current = segment;
+        if (current == null) return;
+
+        String nickname = jpaQueryFactory.select(user.nickname)
+                .from(user)
+                .where(user.id.eq(userId), user.isValid.eq(1))
+                .fetchOne();
+        current.nickname.remove(userId);
+        if (nickname != null) current.nickname.add(userId, nickname);
+    }
+
+    // 전체 재색인, 스캔 중에 재색인된 스터디 / 유저는 새 segment로 교체한 뒤 다시 색인한다
+    @Override
+    @Scheduled(fixedDelayString = "${study.search.rebuild-ms:600000}")
+    public void rebuild() {
+        synchronized (buildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                studiesReindexedDuringBuild = new HashSet<>();
+                usersReindexedDuringBuild = new HashSet<>();
+            }
+            try {
+                Segment built = new Segment();
+                jpaQueryFactory.select(study.id, study.title, study.description, study.leaderId)
+                        .from(study)
+                        .where(study.isValid.eq(1))
+                        .fetch()
+                        .forEach(built::addStudy);
+                jpaQueryFactory.select(user.id, user.nickname)
+                        .from(user)
+                        .where(user.isValid.eq(1))
+                        .fetch()
+                        .forEach(row -> built.nickname.add(row.get(user.id), row.get(user.nickname)));
+
+                synchronized (this) {
+                    segment = built;
+
+                    Set<Long> studyReplay = studiesReindexedDuringBuild;
+                    Set<Long> userReplay = usersReindexedDuringBuild;
+                    studiesReindexedDuringBuild = null;
+                    usersReindexedDuringBuild = null;
+                    for (Long studyId : studyReplay) {
+                        reindexStudy(studyId);
+                    }
+                    for (Long userId : userReplay) {
+                        reindexUser(userId);
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    studiesReindexedDuringBuild = null;
+                    usersReindexedDuringBuild = null;
+                }
+            }
+            log.debug("study search index built in {}ms", System.currentTimeMillis() - start);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudyChanged(StudyChangedEvent event) {
+        reindexStudy(event.getStudyId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        reindexUser(event.getUserId());
+    }
+
+    private Map<Long, Double> top(Map<Long, Double> scores) {
+        if (scores.size() <= maxResults) return scores;
+
+        List<Map.Entry<Long, Double>> entries = new ArrayList<>(scores.entrySet());
+        entries.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        Map<Long, Double> result = new HashMap<>();
+        for (int i = 0; i < maxResults; i++) {
+            result.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        return result;
+    }
+
+    // 공백 기준 토큰의 bigram (한 글자 토큰은 색인하지 않는다), 대소문자 무시
+    static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null) return grams;
+
+        for (String token : text.toLowerCase().trim().split("\\s+")) {
+            if (token.isEmpty()) continue;
+            for (int i = 0; i + 2 <= token.length(); i++) {
+                grams.add(token.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static class Segment {
+        private final Field title = new Field();
+        private final Field description = new Field();
+        private final Field nickname = new Field();
+        // leaderId -> studyIds
+        private final Map<Long, Set<Long>> leaderStudies = new ConcurrentHashMap<>();
+        // studyId -> leaderId, 재색인 시 이전 리더를 지우기 위해 보관
+        private final Map<Long, Long> studyLeaders = new ConcurrentHashMap<>();
+
+        private void addStudy(Tuple row) {
+            Long studyId = row.get(study.id);
+            title.add(studyId, row.get(study.title));
+            description.add(studyId, row.get(study.description));
+
+            Long leaderId = row.get(study.leaderId);
+            if (leaderId != null) {
+                studyLeaders.put(studyId, leaderId);
+                leaderStudies.computeIfAbsent(leaderId, id -> ConcurrentHashMap.newKeySet()).add(studyId);
+            }
+        }
+
+        private void removeStudy(Long studyId) {
+            title.remove(studyId);
+            description.remove(studyId);
+
+            Long leaderId = studyLeaders.remove(studyId);
+            if (leaderId != null) {
+                leaderStudies.computeIfPresent(leaderId, (id, studyIds) -> {
+                    studyIds.remove(studyId);
+                    return studyIds.isEmpty() ? null : studyIds;
+                });
+            }
+        }
+    }
+
+    // gram -> (docId -> 출현 횟수)
+    private static class Field {
+        private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+        // docId -> 색인된 gram 목록, 제거와 길이 정규화에 사용
+        private final Map<Long, List<String>> docs = new ConcurrentHashMap<>();
+
+        private void add(Long docId, String text) {
+            List<String> grams = grams(text);
+            if (grams.isEmpty()) return;
+
+            docs.put(docId, grams);
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new ConcurrentHashMap<>()).merge(docId, 1, Integer::sum);
+            }
+        }
+
+        private void remove(Long docId) {
+            List<String> grams = docs.remove(docId);
+            if (grams == null) return;
+
+            for (String gram : new HashSet<>(grams)) {
+                postings.computeIfPresent(gram, (g, docIds) -> {
+                    docIds.remove(docId);
+                    return docIds.isEmpty() ? null : docIds;
+                });
+            }
+        }
+
+        // 모든 gram을 포함하는 문서, 점수 = gram 출현 횟수 합 / sqrt(문서 길이)
+        private Map<Long, Double> match(List<String> grams) {
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String gram : new HashSet<>(grams)) {
+                Map<Long, Integer> docIds = postings.get(gram);
+                if (docIds == null) return Collections.emptyMap();
+                lists.add(docIds);
+            }
+            // 가장 짧은 posting부터 교집합
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            Map<Long, Double> result = new HashMap<>();
+            candidates:
+            for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+                Long docId = candidate.getKey();
+                double tf = candidate.getValue();
+                for (int i = 1; i < lists.size(); i++) {
+                    Integer count = lists.get(i).get(docId);
+                    if (count == null) continue candidates;
+                    tf += count;
+                }
+                List<String> doc = docs.get(docId);
+                result.put(docId, tf / Math.sqrt(doc == null ? 1 : doc.size()));
+            }
+            return result;
+        }
+    }
+}
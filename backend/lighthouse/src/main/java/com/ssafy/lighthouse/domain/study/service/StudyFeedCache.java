@@ -0,0 +1,84 @@
+package com.ssafy.lighthouse.domain.study.service;
+
+import com.ssafy.lighthouse.domain.study.dto.SimpleStudyDto;
+import com.ssafy.lighthouse.domain.study.dto.StudySearchOption;
+import com.ssafy.lighthouse.domain.study.event.StudyChangedEvent;
+import com.ssafy.lighthouse.domain.study.event.StudyCountChangedEvent;
+import com.ssafy.lighthouse.global.cache.CollapsingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+// GET /study 결과 캐시, key는 정규화한 StudySearchOption
+// 스터디 생성 / 수정 / 상태 변경은 전체를, 좋아요 / 북마크 수 변경은 그 순서로 정렬한 결과만 무효화한다
+// (다른 정렬의 카드에 보이는 좋아요 / 북마크 수는 최대 ttl 만큼 늦게 반영)
+@Slf4j
+@Component
+public class StudyFeedCache {
+
+    private final CollapsingCache<String, Page<SimpleStudyDto>> cache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StudyFeedCache(PlatformTransactionManager transactionManager,
+                          @Value("${study.feed-cache.max-size:1000}") int maxSize,
+                          @Value("${study.feed-cache.ttl-ms:5000}") long ttlMs) {
+        this.cache = new CollapsingCache<>(maxSize, ttlMs);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // 캐시에 없을 때만 읽기 전용 트랜잭션에서 loader 실행
+    public Page<SimpleStudyDto> get(StudySearchOption options, Supplier<Page<SimpleStudyDto>> loader) {
+        return cache.get(keyOf(options), key -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    public CollapsingCache<String, Page<SimpleStudyDto>> getCache() {
+        return cache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudyChanged(StudyChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudyCountChanged(StudyCountChangedEvent event) {
+        cache.invalidateIf(key -> key.startsWith("like|") || key.startsWith("bookmark|"));
+    }
+
+    // orderKey|orderBy|page|status|isOnline|sido|gugun|tagMode|tags|key|word
+    // 결과에 영향 없는 차이 (tag 순서 / 중복, 검색어 앞뒤 공백, 기본값 생략) 는 같은 key가 된다
+    static String keyOf(StudySearchOption options) {
+        // StudyRepositoryImpl 과 같은 규칙 : 알 수 없는 orderKey는 최신순
+        String orderKey = options.getOrderKey();
+        String orderBy;
+        if(orderKey != null && Arrays.asList("createdAt", "hit", "like", "bookmark").contains(orderKey)) {
+            orderBy = "desc".equals(options.getOrderBy()) ? "desc" : "asc";
+        } else {
+            // 검색어가 있고 orderKey가 없으면 관련도 순
+            orderKey = orderKey == null && options.getKey() != null ? "relevance" : "createdAt";
+            orderBy = "desc";
+        }
+
+        List<Long> tagIds = options.getTagIds();
+        String tags = tagIds == null || tagIds.isEmpty() ? "" : new TreeSet<>(tagIds).toString();
+        String tagMode = tags.isEmpty() ? "" : options.isMatchAllTags() ? "and" : "or";
+
+        String key = options.getKey();
+        String word = key == null || options.getWord() == null ? "" : options.getWord().trim();
+
+        return orderKey + "|" + orderBy + "|" + options.getPage() + "|" + options.getStatus() + "|" + options.getIsOnline()
+                + "|" + options.getSidoId() + "|" + options.getGugunId() + "|" + tagMode + "|" + tags
+                + "|" + (key == null ? "" : key) + "|" + word;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ssafy.lighthouse.domain.study.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 스터디 조회수 write-behind : 상세 조회는 메모리의 LongAdder만 올리고, 주기적으로 모인 증가분을 한 번의 update로 반영한다
+// 상세 조회가 study row를 잠그는 쓰기가 되지 않는다, 종료 시 남은 증가분을 반영한다
+@Slf4j
+@Component
+public class StudyHitCounter {
+
+    private final JdbcTemplate jdbcTemplate;
+    // update 한 번에 반영할 최대 스터디 수
+    private final int chunkSize;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public StudyHitCounter(JdbcTemplate jdbcTemplate,
+                           @Value("${study.hit.flush-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    // 반영되지 않은 조회수를 반환
+    public long increment(Long studyId) {
+        LongAdder adder = pending.computeIfAbsent(studyId, id -> new LongAdder());
+        adder.increment();
+        return adder.sum();
+    }
+
+    public long getPending(Long studyId) {
+        LongAdder adder = pending.get(studyId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${study.hit.flush-ms:5000}")
+    public synchronized void flush() {
+        List<Long> studyIds = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        pending.forEach((studyId, adder) -> {
+            // java 8 의 sumThenReset 은 원자적이지 않아 그 사이의 increment 를 잃을 수 있다, 읽은 만큼만 뺀다
+            long delta = adder.sum();
+            if (delta == 0) return;
+            adder.add(-delta);
+            studyIds.add(studyId);
+            deltas.add(delta);
+        });
+
+        for (int from = 0; from < studyIds.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, studyIds.size());
+            try {
+                update(studyIds.subList(from, to), deltas.subList(from, to));
+            } catch (RuntimeException e) {
+                // 다음 flush에서 다시 반영
+                log.warn("study hit flush failed: " + e.getMessage());
+                for (int i = from; i < to; i++) {
+                    pending.computeIfAbsent(studyIds.get(i), id -> new LongAdder()).add(deltas.get(i));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    // update study set hit = hit + case id when ? then ? ... end where id in (...)
+    private void update(List<Long> studyIds, List<Long> deltas) {
+        StringBuilder sql = new StringBuilder("UPDATE study SET hit = hit + CASE id");
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < studyIds.size(); i++) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(studyIds.get(i));
+            args.add(deltas.get(i));
+        }
+        sql.append(" ELSE 0 END WHERE id IN (");
+        for (int i = 0; i < studyIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(studyIds.get(i));
+        }
+        sql.append(")");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
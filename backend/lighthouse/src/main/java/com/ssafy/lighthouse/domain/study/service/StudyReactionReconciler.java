@@ -0,0 +1,105 @@
+package com.ssafy.lighthouse.domain.study.service;
+
+import com.ssafy.lighthouse.domain.study.event.StudyCountChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// study.like_cnt / bookmark_cnt 는 좋아요 / 북마크 트랜잭션의 마지막 update 로 원자적으로 증감한다
+// 바뀐 적 있는 스터디만 study_like / bookmark 의 유효 row 수로 주기적으로 다시 맞춘다 (reconcile)
+// 증감이 row 변경과 같은 트랜잭션이라 다시 센 수와 겹칠 증가분이 없고, 좋아요 요청이 reconcile 을 기다리지 않는다
+@Slf4j
+@Component
+public class StudyReactionReconciler {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // update 한 번에 다시 셀 최대 스터디 수
+    private final int chunkSize;
+    // 지난 reconcile 이후 좋아요 / 북마크가 바뀐 스터디 (이 인스턴스에서)
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+
+    public StudyReactionReconciler(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   @Value("${study.count.reconcile-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudyCountChanged(StudyCountChangedEvent event) {
+        touched.add(event.getStudyId());
+    }
+
+    @Scheduled(fixedDelayString = "${study.count.reconcile-ms:3600000}", initialDelayString = "${study.count.reconcile-ms:3600000}")
+    public void reconcile() {
+        List<Long> studyIds = new ArrayList<>(touched);
+        touched.removeAll(studyIds);
+
+        for (int from = 0; from < studyIds.size(); from += chunkSize) {
+            List<Long> chunk = studyIds.subList(from, Math.min(from + chunkSize, studyIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> recount(chunk));
+            } catch (RuntimeException e) {
+                log.warn("study count reconcile failed: " + e.getMessage());
+                touched.addAll(chunk);
+            }
+        }
+    }
+
+    // 좋아요 / 북마크 row 를 먼저 share lock 으로 세고 study 를 update 한다
+    // 토글 트랜잭션과 같은 순서 (row -> study) 로 잠가서 서로 교착되지 않는다
+    private void recount(List<Long> studyIds) {
+        Map<Long, Long> likes = count("study_like", studyIds);
+        Map<Long, Long> bookmarks = count("bookmark", studyIds);
+
+        // update study set like_cnt = case id when ? then ? ... end, bookmark_cnt = case ... end where id in (...)
+        StringBuilder sql = new StringBuilder("UPDATE study SET like_cnt = CASE id");
+        List<Object> args = new ArrayList<>();
+        for (Long studyId : studyIds) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(studyId);
+            args.add(likes.getOrDefault(studyId, 0L));
+        }
+        sql.append(" ELSE like_cnt END, bookmark_cnt = CASE id");
+        for (Long studyId : studyIds) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(studyId);
+            args.add(bookmarks.getOrDefault(studyId, 0L));
+        }
+        sql.append(" ELSE bookmark_cnt END WHERE id IN (");
+        for (int i = 0; i < studyIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(studyIds.get(i));
+        }
+        sql.append(")");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private Map<Long, Long> count(String table, List<Long> studyIds) {
+        StringBuilder sql = new StringBuilder("SELECT study_id, COUNT(*) FROM ").append(table).append(" WHERE is_valid = 1 AND study_id IN (");
+        for (int i = 0; i < studyIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") GROUP BY study_id LOCK IN SHARE MODE");
+
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            counts.put(rs.getLong(1), rs.getLong(2));
+        }, studyIds.toArray());
+        return counts;
+    }
+}
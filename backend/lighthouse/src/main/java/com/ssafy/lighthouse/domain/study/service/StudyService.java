@@ -10,6 +10,7 @@ import java.util.List;
 
 public interface StudyService {
     Page<SimpleStudyDto> findAllByStudySearchOption(StudySearchOption options);
+    StudyFeedDto findFeedByStudySearchOption(StudySearchOption options);
     Page<SimpleStudyDto> findAllByOriginalId(Long originalId, StudySearchOption options);
     StudyResponse findDetailByStudyId(Long studyId);
     StudyResponse createStudyByStudyId(Long studyId, Long userId);
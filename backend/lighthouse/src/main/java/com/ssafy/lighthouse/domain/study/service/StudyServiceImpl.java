@@ -9,21 +9,28 @@ import com.ssafy.lighthouse.domain.common.service.BadgeService;
 import com.ssafy.lighthouse.domain.common.util.S3Utils;
 import com.ssafy.lighthouse.domain.study.dto.*;
 import com.ssafy.lighthouse.domain.study.entity.*;
+import com.ssafy.lighthouse.domain.study.event.StudyChangedEvent;
+import com.ssafy.lighthouse.domain.study.event.StudyCountChangedEvent;
 import com.ssafy.lighthouse.domain.study.exception.*;
 import com.ssafy.lighthouse.domain.study.repository.*;
-import com.ssafy.lighthouse.domain.user.entity.UserBadge;
-import com.ssafy.lighthouse.domain.user.repository.UserBadgeRepository;
+import com.ssafy.lighthouse.domain.user.dto.SimpleProfileResponse;
+import com.ssafy.lighthouse.domain.user.event.UserProfileChangedEvent;
 import com.ssafy.lighthouse.domain.user.repository.UserRepository;
+import com.ssafy.lighthouse.global.async.ParallelReader;
+import com.ssafy.lighthouse.global.jdbc.JdbcBatchWriter;
 import com.ssafy.lighthouse.global.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,13 +39,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StudyServiceImpl implements StudyService {
     private static final String CATEGORY = "coverImage";
+    private static final String[] SESSION_CHECK_COLUMNS = {"user_id", "session_id", "content"};
+    private static final String[] STUDY_MATERIAL_COLUMNS = {"study_id", "session_id", "type", "content", "file_url"};
     private final StudyRepository studyRepository;
     private final StudyTagRepository studyTagRepository;
     private final StudyMaterialRepository studyMaterialRepository;
-    private final StudyNoticeRepository studyNoticeRepository;
-    private final StudyNoticeCheckRepository studyNoticeCheckRepository;
     private final SessionRepository sessionRepository;
-    private final SessionCheckRepository sessionCheckRepository;
     private final StudyLikeRepository studyLikeRepository;
     private final BookmarkRepository bookmarkRepository;
     private final StudyEvalRepository studyEvalRepository;
@@ -46,16 +52,27 @@ public class StudyServiceImpl implements StudyService {
     private final UserRepository userRepository;
     private final BadgeService badgeService;
     private final BadgeRepository badgeRepository;
-    private final UserBadgeRepository userBadgeRepository;
     private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudyFeedCache studyFeedCache;
+    private final StudyHitCounter studyHitCounter;
+    private final ParallelReader parallelReader;
+    private final JdbcBatchWriter jdbcBatchWriter;
 
     private final StudyMaterialService studyMaterialService;
 
 
+    // 캐시 hit 에는 커넥션을 잡지 않도록 트랜잭션 밖에서 조회, miss 만 StudyFeedCache 가 읽기 전용 트랜잭션으로 실행
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<SimpleStudyDto> findAllByStudySearchOption(StudySearchOption options) {
-        return studyRepository.findAllByStudySearchOption(options);
+        return studyFeedCache.get(options, () -> studyRepository.findAllByStudySearchOption(options));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudyFeedDto findFeedByStudySearchOption(StudySearchOption options) {
+        return studyRepository.findFeedByStudySearchOption(options);
     }
 
     @Override
@@ -65,15 +82,45 @@ public class StudyServiceImpl implements StudyService {
     }
 
     // 결과값이 null 이면 StudyNotFoundException을 전달한다.
+    // 본문, 리더, 멤버, 세션, 공지를 각자 읽기 전용 트랜잭션에서 동시에 조회 (가장 느린 섹션만큼 걸린다)
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StudyResponse findDetailByStudyId(Long studyId) {
-        Study study = studyRepository.findDetailById(studyId).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
-        log.debug("service - studyId : {} = {}", studyId, study.getId());
+        CompletableFuture<Optional<StudyResponse>> core = parallelReader.submit(() -> studyRepository.findCoreById(studyId)
+                .map(study -> new StudyResponse(study, null, null)));
+        CompletableFuture<SimpleProfileResponse> leaderProfile = parallelReader.submit(() -> studyRepository.findLeaderIdById(studyId)
+                .map(userRepository::findSimpleProfileByUserId)
+                .orElse(null));
+        CompletableFuture<List<SimpleProfileResponse>> memberProfiles = parallelReader.submit(() ->
+                userRepository.findSimpleProfileByUserIds(studyRepository.findMemberIdsByStudyId(studyId)));
+        CompletableFuture<List<SessionDto.SessionRes>> sessions = parallelReader.submit(() -> studyRepository.findSessionsByStudyId(studyId)
+                .stream()
+                .map(SessionDto.SessionRes::new)
+                .collect(Collectors.toList()));
+        CompletableFuture<List<StudyNoticeDto.StudyNoticeRes>> studyNotices = parallelReader.submit(() -> studyRepository.findNoticesByStudyId(studyId)
+                .stream()
+                .map(StudyNoticeDto.StudyNoticeRes::new)
+                .collect(Collectors.toList()));
+
+        StudyResponse studyResponse = parallelReader.join(core).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
+        log.debug("service - studyId : {} = {}", studyId, studyResponse.getId());
+
+        // 조회수 증가 (StudyHitCounter가 주기적으로 반영)
+        long pendingHit = studyHitCounter.increment(studyId);
+        applyPendingCounts(studyResponse, pendingHit);
 
-        // 조회수 증가
-        study.addHit();
+        studyResponse.setLeaderProfile(parallelReader.join(leaderProfile));
+        studyResponse.setMemberProfiles(parallelReader.join(memberProfiles));
+        studyResponse.setSessions(parallelReader.join(sessions));
+        studyResponse.setStudyNotices(parallelReader.join(studyNotices));
+        return studyResponse;
+    }
 
+    // 수정 직후 응답용, 현재 트랜잭션 안에서 순서대로 조회 (커밋 전 변경이 보여야 하므로 병렬 조회 불가)
+    private StudyResponse findDetailInTransaction(Long studyId) {
+        Study study = studyRepository.findDetailById(studyId).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
         StudyResponse studyResponse = new StudyResponse(study);
+        applyPendingCounts(studyResponse, studyHitCounter.getPending(studyId));
 
         int status = studyResponse.getStatus();
 
@@ -89,6 +136,11 @@ public class StudyServiceImpl implements StudyService {
                 .collect(Collectors.toList())));
         return studyResponse;
     }
+
+    // 아직 반영되지 않은 조회수를 더한다
+    private void applyPendingCounts(StudyResponse studyResponse, long pendingHit) {
+        studyResponse.setHit((int) (studyResponse.getHit() + pendingHit));
+    }
     
     // 스터디 복제
     @Override
@@ -118,29 +170,15 @@ public class StudyServiceImpl implements StudyService {
         
         // newStudyId
         Long newStudyId = newStudy.getId();
-        // studyTag 넣기
-        studyTagRepository.saveAll(study.getStudyTags()
-                .stream()
-                .map(studyTag -> StudyTag.builder()
-                        .isValid(studyTag.getIsValid())
-                        .studyId(newStudyId)
-                        .tag(studyTag.getTag())
-                        .build())
-                .collect(Collectors.toSet()));
+        // studyTag, session, studyNotice 복사 (유효한 것만, 종류별로 한 번의 batch insert)
+        jdbcBatchWriter.insert("study_tag", new String[]{"study_id", "tag_id"},
+                study.getStudyTags().stream().filter(BaseEntity::isValid).collect(Collectors.toList()),
+                studyTag -> new Object[]{newStudyId, studyTag.getTag().getId()});
 
         // session
-        Set<Session> sessions = study.getSessions();
-        sessionRepository.saveAll(sessions
-                .stream()
-                .map(session -> Session.builder()
-                        .isValid(session.getIsValid())
-                        .studyId(newStudyId)
-                        .title(session.getTitle())
-                        .description(session.getDescription())
-                        .comment(session.getComment())
-                        .seqNum(session.getSeqNum())
-                        .build())
-                .collect(Collectors.toSet()));
+        jdbcBatchWriter.insert("session", new String[]{"study_id", "title", "description", "comment", "seq_num"},
+                study.getSessions().stream().filter(BaseEntity::isValid).collect(Collectors.toList()),
+                session -> new Object[]{newStudyId, session.getTitle(), session.getDescription(), session.getComment(), session.getSeqNum()});
 
 //        // studyMaterial
 //        Set<StudyMaterial> studyMaterials = new HashSet<>();
@@ -159,15 +197,9 @@ public class StudyServiceImpl implements StudyService {
 //        studyMaterialRepository.saveAll(studyMaterials);
 
         // studyNotice
-        Set<StudyNotice> studyNotices = study.getStudyNotices();
-        studyNoticeRepository.saveAll(studyNotices
-                .stream()
-                .map(studyNotice -> StudyNotice.builder()
-                        .isValid(studyNotice.getIsValid())
-                        .studyId(newStudyId)
-                        .content(studyNotice.getContent())
-                        .build())
-                .collect(Collectors.toSet()));
+        jdbcBatchWriter.insert("study_notice", new String[]{"study_id", "content"},
+                study.getStudyNotices().stream().filter(BaseEntity::isValid).collect(Collectors.toList()),
+                studyNotice -> new Object[]{newStudyId, studyNotice.getContent()});
 
         // 스터디 참여 기록 등록(팀장)
         participationHistoryRepository.save(ParticipationHistory
@@ -179,6 +211,8 @@ public class StudyServiceImpl implements StudyService {
                 .joinedAt(LocalDateTime.now())
                 .build());
 
+        eventPublisher.publishEvent(new StudyChangedEvent(newStudyId));
+
         StudyResponse studyResponse = new StudyResponse(newStudy);
         // setLeaderProfile
         studyResponse.setLeaderProfile(userRepository.findSimpleProfileByUserId(userId));
@@ -190,6 +224,7 @@ public class StudyServiceImpl implements StudyService {
         Optional<Study> result = studyRepository.findById(studyId);
         Study study = result.orElseThrow(() -> new StudyNotFoundException(ERROR.REMOVE));
         study.remove();
+        eventPublisher.publishEvent(new StudyChangedEvent(studyId));
     }
 
     @Override
@@ -197,6 +232,7 @@ public class StudyServiceImpl implements StudyService {
         Optional<Study> result = studyRepository.findById(studyId);
         Study study = result.orElseThrow(() -> new StudyNotFoundException(ERROR.UPDATE));
         study.share();
+        eventPublisher.publishEvent(new StudyChangedEvent(studyId));
     }
 
     // 변경사항이 있으면 update 진행
@@ -240,196 +276,117 @@ public class StudyServiceImpl implements StudyService {
         log.debug("curStatus : {}", curStatus);
 
         study.update(changedStudy);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
+
+        // 하위 목록은 ChildDiff로 기존 엔티티(id 색인)와 비교해서
+        // update / soft delete 는 변경 감지 (jdbc batch), 새 항목은 종류별로 모아서 JdbcBatchWriter 로 한 번에 insert 한다
+        // (IDENTITY 라 saveAll 은 한 row 씩 insert, id 가 필요한 새 session 만 JPA 로 저장한다)
 
         // studyEval
-        Set<StudyEval> studyEvals = study.getStudyEvals();
-        Set<StudyEval> newStudyEvals = new HashSet<>();
-        if (studyRequest.getStudyEvals() != null) {
-            studyRequest.getStudyEvals().forEach(changedStudyEval -> {
-                Optional<StudyEval> result = studyEvals
-                    .stream()
-                    .filter(studyEval -> studyEval.getId().equals(changedStudyEval.getId()))
-                    .findFirst();
-
-                // 있으면 update
-                if(result.isPresent()) {
-                    StudyEval studyEval = result.get();
-                    studyEval.update(
-                        changedStudyEval.getStudyId(),
-                        changedStudyEval.getUserId(),
-                        changedStudyEval.getComment(),
-                        changedStudyEval.getScore());
-                    studyEval.changeIsValid(changedStudyEval.getIsValid());
-                }
-                // 없으면 save
-                else {
-                    newStudyEvals.add(changedStudyEval.toEntity());
-                }
-            });
-        }
-        studyEvalRepository.saveAll(newStudyEvals);
+        ChildDiff<StudyEval, StudyEvalDto> studyEvalDiff = ChildDiff.of(study.getStudyEvals(), studyRequest.getStudyEvals(),
+                StudyEvalDto::getId, StudyEvalDto::getIsValid);
+        studyEvalDiff.forEachUpdate((studyEval, changedStudyEval) -> {
+            studyEval.update(
+                changedStudyEval.getStudyId(),
+                changedStudyEval.getUserId(),
+                changedStudyEval.getComment(),
+                changedStudyEval.getScore());
+            studyEval.changeIsValid(changedStudyEval.getIsValid());
+        });
+        jdbcBatchWriter.insert("study_eval", new String[]{"study_id", "user_id", "comment", "score"}, studyEvalDiff.getInserts(),
+                changedStudyEval -> new Object[]{changedStudyEval.getStudyId(), changedStudyEval.getUserId(), changedStudyEval.getComment(), changedStudyEval.getScore()});
 
         // studyTag
-        Set<StudyTag> studyTags = study.getStudyTags();
-        Set<StudyTag> newStudyTags = new HashSet<>();
-        if (studyRequest.getStudyTags() != null) {
-            studyRequest.getStudyTags().forEach(changedStudyTag -> {
-                Optional<StudyTag> result = studyTags
-                    .stream()
-                    .filter(studyTag -> studyTag.getId().equals(changedStudyTag.getId()))
-                    .findFirst();
-
-                // 있으면 update
-                if(result.isPresent()) {
-                    StudyTag studyTag = result.get();
-                    studyTag.update(
-                        changedStudyTag.getStudyId(),
-                        changedStudyTag.getTag().toEntity());
-                    studyTag.changeIsValid(changedStudyTag.getIsValid());
-                }
-                // 없으면 save
-                else {
-                    newStudyTags.add(changedStudyTag.toEntity());
-                }
-            });
-        }
-        studyTagRepository.saveAll(newStudyTags);
+        ChildDiff<StudyTag, StudyTagDto> studyTagDiff = ChildDiff.of(study.getStudyTags(), studyRequest.getStudyTags(),
+                StudyTagDto::getId, StudyTagDto::getIsValid);
+        studyTagDiff.forEachUpdate((studyTag, changedStudyTag) -> {
+            studyTag.update(
+                changedStudyTag.getStudyId(),
+                changedStudyTag.getTag().toEntity());
+            studyTag.changeIsValid(changedStudyTag.getIsValid());
+        });
+        jdbcBatchWriter.insert("study_tag", new String[]{"study_id", "tag_id"}, studyTagDiff.getInserts(),
+                changedStudyTag -> new Object[]{changedStudyTag.getStudyId(), changedStudyTag.getTag().getId()});
 
         // studyNotice & studyNoticeCheck
-        Set<StudyNotice> studyNotices = study.getStudyNotices();
-        Set<StudyNotice> newStudyNotices = new HashSet<>();
-        Set<StudyNoticeCheck> newStudyNoticeChecks = new HashSet<>();
-        if (studyRequest.getStudyNotices() != null) {
-            studyRequest.getStudyNotices().forEach(changedStudyNotice -> {
-                Optional<StudyNotice> result = studyNotices
-                    .stream()
-                    .filter(studyNotice -> studyNotice.getId().equals(changedStudyNotice.getId()))
-                    .findFirst();
-
-                // 있으면 update
-                if(result.isPresent()) {
-                    StudyNotice studyNotice = result.get();
-                    studyNotice.update(
-                        changedStudyNotice.getStudyId(),
-                        changedStudyNotice.getContent());
-                    studyNotice.changeIsValid(changedStudyNotice.getIsValid());
-
-                    Set<StudyNoticeCheck> studyNoticeChecks = studyNotice.getStudyNoticeChecks();
-                    changedStudyNotice.getStudyNoticeChecks().forEach(changedStudyNoticeCheck -> {
-                        Optional<StudyNoticeCheck> checkResult = studyNoticeChecks
-                            .stream()
-                            .filter(studyNoticeCheck -> studyNoticeCheck.getId().equals(changedStudyNoticeCheck.getId()))
-                            .findFirst();
-
-                        // 있으면 update
-                        if(checkResult.isPresent()) {
-                            StudyNoticeCheck studyNoticeCheck = checkResult.get();
-                            studyNoticeCheck.changeIsValid(changedStudyNoticeCheck.getIsValid());
-                        }
-
-                        // 없으면 save
-                        else {
-                            newStudyNoticeChecks.add(changedStudyNoticeCheck.toEntity());
-                        }
-                    });
-                }
-                // 없으면 save
-                else {
-                    newStudyNotices.add(changedStudyNotice.toEntity());
-                }
-            });
-        }
-
-        studyNoticeRepository.saveAll(newStudyNotices);
-        studyNoticeCheckRepository.saveAll(newStudyNoticeChecks);
+        List<StudyNoticeDto.StudyNoticeCheckReq> newStudyNoticeChecks = new ArrayList<>();
+        ChildDiff<StudyNotice, StudyNoticeDto.StudyNoticeReq> studyNoticeDiff = ChildDiff.of(study.getStudyNotices(), studyRequest.getStudyNotices(),
+                StudyNoticeDto.StudyNoticeReq::getId, StudyNoticeDto.StudyNoticeReq::getIsValid);
+        studyNoticeDiff.forEachUpdate((studyNotice, changedStudyNotice) -> {
+            studyNotice.update(
+                changedStudyNotice.getStudyId(),
+                changedStudyNotice.getContent());
+            studyNotice.changeIsValid(changedStudyNotice.getIsValid());
+
+            ChildDiff<StudyNoticeCheck, StudyNoticeDto.StudyNoticeCheckReq> checkDiff = ChildDiff.of(studyNotice.getStudyNoticeChecks(), changedStudyNotice.getStudyNoticeChecks(),
+                    StudyNoticeDto.StudyNoticeCheckReq::getId, StudyNoticeDto.StudyNoticeCheckReq::getIsValid);
+            checkDiff.forEachUpdate((studyNoticeCheck, changedStudyNoticeCheck) -> studyNoticeCheck.changeIsValid(changedStudyNoticeCheck.getIsValid()));
+            newStudyNoticeChecks.addAll(checkDiff.getInserts());
+        });
+        jdbcBatchWriter.insert("study_notice", new String[]{"study_id", "content"}, studyNoticeDiff.getInserts(),
+                changedStudyNotice -> new Object[]{changedStudyNotice.getStudyId(), changedStudyNotice.getContent()});
+        jdbcBatchWriter.insert("study_notice_check", new String[]{"user_id", "study_notice_id"}, newStudyNoticeChecks,
+                changedStudyNoticeCheck -> new Object[]{changedStudyNoticeCheck.getUserId(), changedStudyNoticeCheck.getStudyNoticeId()});
 
         // session & sessionCheck & studyMaterial
-        Set<Session> sessions = study.getSessions();
-        Set<Session> newSessions = new HashSet<>();
-        Set<SessionCheck> newSessionChecks = new HashSet<>();
-        Set<StudyMaterial> newStudyMaterials = new HashSet<>();
-        if (studyRequest.getSessions() != null) {
-            studyRequest.getSessions().forEach(changedSession -> {
-                Optional<Session> result = sessions
-                    .stream()
-                    .filter(session -> session.getId().equals(changedSession.getId()))
-                    .findFirst();
-
-                // 있으면 update
-                if(result.isPresent()) {
-                    Session session = result.get();
-                    session.update(
-                        changedSession.getStartedAt(),
-                        changedSession.getEndedAt(),
-                        changedSession.getStudyId(),
-                        changedSession.getTitle(),
-                        changedSession.getDescription(),
-                        changedSession.getComment(),
-                        changedSession.getStatus(),
-                        changedSession.getSeqNum());
-                    session.changeIsValid(changedSession.getIsValid());
-
-                    // sessionCheck 시작
-                    Set<SessionCheck> sessionChecks = session.getSessionChecks();
-                    changedSession.getSessionChecks().forEach(changedSessionCheck -> {
-                        Optional<SessionCheck> checkResult = sessionChecks
-                            .stream()
-                            .filter(sessionCheck -> sessionCheck.getId().equals(changedSessionCheck.getId()))
-                            .findFirst();
-
-                        // 있으면 update
-                        if(checkResult.isPresent()) {
-                            SessionCheck sessionCheck = checkResult.get();
-                            sessionCheck.update(
-                                changedSessionCheck.getUserId(),
-                                changedSessionCheck.getSessionId(),
-                                changedSessionCheck.getContent()
-                            );
-                            sessionCheck.changeIsValid(changedSessionCheck.getIsValid());
-                        }
-
-                        // 없으면 save
-                        else {
-                            newSessionChecks.add(changedSessionCheck.toEntity());
-                        }
-                    });
-                    // sessionCheck 끝
-
-                    // studyMaterial 시작
-                    Set<StudyMaterial> studyMaterials = session.getStudyMaterials();
-                    changedSession.getStudyMaterials().forEach(changedStudyMaterial -> {
-                        Optional<StudyMaterial> checkResult = studyMaterials
-                            .stream()
-                            .filter(studyMaterial -> studyMaterial.getId().equals(changedStudyMaterial.getId()))
-                            .findFirst();
-
-                        // 있으면 update
-                        if(checkResult.isPresent()) {
-                            StudyMaterial targetStudyMaterial = checkResult.get();
-                            studyMaterialService.updateMaterial(targetStudyMaterial, changedStudyMaterial);
-                            targetStudyMaterial.changeIsValid(changedStudyMaterial.getIsValid());
-                        }
-
-                        // 없으면 save
-                        else {
-                            newStudyMaterials.add(changedStudyMaterial.toEntity());
-                        }
-                    });
-                    // studyMaterial 끝
-
-                }
-                // 없으면 save
-                else {
-                    Session session = changedSession.toEntity();
-                    newSessions.add(session);
-                    newSessionChecks.addAll(session.getSessionChecks());
-                    newStudyMaterials.addAll(session.getStudyMaterials());
-                }
+        List<Object[]> newSessionChecks = new ArrayList<>();
+        List<Object[]> newStudyMaterials = new ArrayList<>();
+        ChildDiff<Session, SessionDto.SessionReq> sessionDiff = ChildDiff.of(study.getSessions(), studyRequest.getSessions(),
+                SessionDto.SessionReq::getId, SessionDto.SessionReq::getIsValid);
+        sessionDiff.forEachUpdate((session, changedSession) -> {
+            session.update(
+                changedSession.getStartedAt(),
+                changedSession.getEndedAt(),
+                changedSession.getStudyId(),
+                changedSession.getTitle(),
+                changedSession.getDescription(),
+                changedSession.getComment(),
+                changedSession.getStatus(),
+                changedSession.getSeqNum());
+            session.changeIsValid(changedSession.getIsValid());
+
+            // sessionCheck
+            ChildDiff<SessionCheck, SessionDto.SessionCheckReq> checkDiff = ChildDiff.of(session.getSessionChecks(), changedSession.getSessionChecks(),
+                    SessionDto.SessionCheckReq::getId, changedSessionCheck -> changedSessionCheck.getIsValid() == null ? 1 : changedSessionCheck.getIsValid());
+            checkDiff.forEachUpdate((sessionCheck, changedSessionCheck) -> {
+                sessionCheck.update(
+                    changedSessionCheck.getUserId(),
+                    changedSessionCheck.getSessionId(),
+                    changedSessionCheck.getContent()
+                );
+                sessionCheck.changeIsValid(changedSessionCheck.getIsValid());
             });
-        }
-        sessionRepository.saveAll(newSessions);
-        sessionCheckRepository.saveAll(newSessionChecks);
-        studyMaterialRepository.saveAll(newStudyMaterials);
+            checkDiff.getInserts().forEach(changedSessionCheck -> newSessionChecks.add(sessionCheckRow(changedSessionCheck.toEntity(), session.getId())));
+
+            // studyMaterial
+            ChildDiff<StudyMaterial, StudyMaterialDto.Req> materialDiff = ChildDiff.of(session.getStudyMaterials(), changedSession.getStudyMaterials(),
+                    StudyMaterialDto.Req::getId, StudyMaterialDto.Req::getIsValid);
+            materialDiff.forEachUpdate((targetStudyMaterial, changedStudyMaterial) -> {
+                studyMaterialService.updateMaterial(targetStudyMaterial, changedStudyMaterial);
+                targetStudyMaterial.changeIsValid(changedStudyMaterial.getIsValid());
+            });
+            materialDiff.getInserts().forEach(changedStudyMaterial -> newStudyMaterials.add(studyMaterialRow(changedStudyMaterial.toEntity(), session.getId())));
+        });
+
+        // 새 session 만 id 가 필요하므로 하위 항목을 떼어 낸 채 먼저 저장하고, 받은 id 로 하위 항목을 함께 batch insert
+        sessionDiff.getInserts().forEach(changedSession -> {
+            Session session = changedSession.toEntity();
+            List<SessionCheck> sessionChecks = new ArrayList<>(session.getSessionChecks());
+            List<StudyMaterial> studyMaterials = new ArrayList<>(session.getStudyMaterials());
+            session.getSessionChecks().clear();
+            session.getStudyMaterials().clear();
+
+            Long sessionId = sessionRepository.save(session).getId();
+            sessionChecks.forEach(sessionCheck -> newSessionChecks.add(sessionCheckRow(sessionCheck, sessionId)));
+            studyMaterials.forEach(studyMaterial -> newStudyMaterials.add(studyMaterialRow(studyMaterial, sessionId)));
+        });
+        jdbcBatchWriter.insert("session_check", SESSION_CHECK_COLUMNS, newSessionChecks, row -> row);
+        jdbcBatchWriter.insert("study_material", STUDY_MATERIAL_COLUMNS, newStudyMaterials, row -> row);
+        log.debug("study children diff (insert/update/remove) - eval {}/{}/{}, tag {}/{}/{}, notice {}/{}/{}, session {}/{}/{}",
+                studyEvalDiff.getInserts().size(), studyEvalDiff.getUpdateCount(), studyEvalDiff.getRemoves().size(),
+                studyTagDiff.getInserts().size(), studyTagDiff.getUpdateCount(), studyTagDiff.getRemoves().size(),
+                studyNoticeDiff.getInserts().size(), studyNoticeDiff.getUpdateCount(), studyNoticeDiff.getRemoves().size(),
+                sessionDiff.getInserts().size(), sessionDiff.getUpdateCount(), sessionDiff.getRemoves().size());
 
         log.debug("studyRequest.getId() : {}", studyRequest.getId());
 
@@ -454,29 +411,35 @@ public class StudyServiceImpl implements StudyService {
 
                 // 스터디에 해당하는 뱃지 확인
                 Badge badge = badgeRepository.findByBadgeId(studyRequest.getBadge().getId()).orElseThrow(BadgeException::new);
-                List<UserBadge> newUserBadges = new ArrayList<>();
+                List<Long> badgeUserIds = new ArrayList<>();
 
                 participationHistoryRepository.findAllByStudyId(studyRequest.getId(), STATUS.PROGRESS)
                         .forEach(participationHistory -> {
                             // 기록 수정
                             participationHistory.changeStatus(STATUS.TERMINATED);
-
-                            // 뱃지 지급
-                            newUserBadges.add(UserBadge.builder()
-                                    .badge(badge)
-                                    .userId(participationHistory.getUserId())
-                                    .build());
+                            badgeUserIds.add(participationHistory.getUserId());
                         });
 
-                // 뱃지 지급
-                userBadgeRepository.saveAll(newUserBadges);
+                // 뱃지 지급 (한 번의 batch insert)
+                jdbcBatchWriter.insert("user_badge", new String[]{"user_id", "badge_id"}, badgeUserIds,
+                        badgeUserId -> new Object[]{badgeUserId, badge.getId()});
+                badgeUserIds.forEach(badgeUserId -> eventPublisher.publishEvent(new UserProfileChangedEvent(badgeUserId)));
             }
         }
 
         em.flush();
         em.clear();
 
-        return findDetailByStudyId(studyRequest.getId());
+        return findDetailInTransaction(studyRequest.getId());
+    }
+
+    // JdbcBatchWriter 로 넣을 session_check / study_material row, 새 session 의 하위 항목은 저장한 뒤 받은 id 로 채운다
+    private static Object[] sessionCheckRow(SessionCheck sessionCheck, Long sessionId) {
+        return new Object[]{sessionCheck.getUserId(), sessionId, sessionCheck.getContent()};
+    }
+
+    private static Object[] studyMaterialRow(StudyMaterial studyMaterial, Long sessionId) {
+        return new Object[]{studyMaterial.getStudyId(), sessionId, studyMaterial.getType(), studyMaterial.getContent(), studyMaterial.getFileUrl()};
     }
 
     @Override
@@ -487,26 +450,24 @@ public class StudyServiceImpl implements StudyService {
         // study 상태 변경
         if(prevStatus != status) {
             study.changeStatus(status);
+            eventPublisher.publishEvent(new StudyChangedEvent(studyId));
 
             if(status == STATUS.TERMINATED && study.getBadge() != null && prevStatus != STATUS.SHARE) {
                 // 스터디에 해당하는 뱃지 확인
                 Badge badge = badgeRepository.findByBadgeId(study.getBadge().getId()).orElseThrow(BadgeException::new);
-                List<UserBadge> newUserBadges = new ArrayList<>();
+                List<Long> badgeUserIds = new ArrayList<>();
 
                 participationHistoryRepository.findAllByStudyId(studyId, STATUS.PROGRESS)
                         .forEach(participationHistory -> {
                             // 기록 수정
                             participationHistory.changeStatus(STATUS.TERMINATED);
-
-                            // 뱃지 지급
-                            newUserBadges.add(UserBadge.builder()
-                                    .badge(badge)
-                                    .userId(participationHistory.getUserId())
-                                    .build());
+                            badgeUserIds.add(participationHistory.getUserId());
                         });
 
-                // 뱃지 지급
-                userBadgeRepository.saveAll(newUserBadges);
+                // 뱃지 지급 (한 번의 batch insert)
+                jdbcBatchWriter.insert("user_badge", new String[]{"user_id", "badge_id"}, badgeUserIds,
+                        badgeUserId -> new Object[]{badgeUserId, badge.getId()});
+                badgeUserIds.forEach(badgeUserId -> eventPublisher.publishEvent(new UserProfileChangedEvent(badgeUserId)));
             }
 
             if(status != STATUS.SHARE && prevStatus != STATUS.SHARE) {
@@ -517,30 +478,26 @@ public class StudyServiceImpl implements StudyService {
         }
     }
 
+    // 좋아요 / 북마크는 멱등 : 이미 같은 상태면 아무것도 바꾸지 않는다
+    // study 엔티티를 읽어 cnt++ 하는 대신 실제로 바뀐 경우에만 마지막 문장으로 like_cnt / bookmark_cnt 를 원자적으로 증감한다
     @Override
     public void createStudyLike(Long studyId, Long userId) {
-        Optional<StudyLike> result = studyLikeRepository.find(studyId, userId);
-        if(result.isPresent()) {
-            throw new StudyLikeException(ERROR.CREATE);
-        }
+        if(!studyRepository.existsValidById(studyId)) throw new StudyNotFoundException(ERROR.FIND);
 
         // 좋아요 등록
-        studyLikeRepository.save(new StudyLike(studyId, userId));
-
-        // study - likeCnt 증가
-        Study study = studyRepository.findById(studyId).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
-        study.addLike();
+        if(studyLikeRepository.restore(studyId, userId) > 0 || studyLikeRepository.insertIgnore(studyId, userId) > 0) {
+            studyRepository.addLikeCnt(studyId, 1);
+            eventPublisher.publishEvent(new StudyCountChangedEvent(studyId, 1, 0));
+        }
     }
 
     @Override
     public void removeStudyLike(Long studyId, Long userId) {
         // 좋아요 삭제
-        Optional<StudyLike> result = studyLikeRepository.find(studyId, userId);
-        result.orElseThrow(() -> new StudyLikeException(ERROR.REMOVE)).remove();
-
-        // study - likeCnt 감소
-        Study study = studyRepository.findById(studyId).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
-        study.removeLike();
+        if(studyLikeRepository.remove(studyId, userId) > 0) {
+            studyRepository.addLikeCnt(studyId, -1);
+            eventPublisher.publishEvent(new StudyCountChangedEvent(studyId, -1, 0));
+        }
     }
 
     @Override
@@ -550,28 +507,22 @@ public class StudyServiceImpl implements StudyService {
 
     @Override
     public void createStudyBookmark(Long studyId, Long userId) {
-        Optional<Bookmark> result = bookmarkRepository.find(studyId, userId);
-        if(result.isPresent()) {
-            throw new BookmarkException(ERROR.CREATE);
-        }
+        if(!studyRepository.existsValidById(studyId)) throw new StudyNotFoundException(ERROR.FIND);
 
         // 북마크 등록
-        bookmarkRepository.save(new Bookmark(studyId, userId));
-
-        // study - bookmarkCnt 증가
-        Study study = studyRepository.findById(studyId).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
-        study.addBookmark();
+        if(bookmarkRepository.restore(studyId, userId) > 0 || bookmarkRepository.insertIgnore(studyId, userId) > 0) {
+            studyRepository.addBookmarkCnt(studyId, 1);
+            eventPublisher.publishEvent(new StudyCountChangedEvent(studyId, 0, 1));
+        }
     }
 
     @Override
     public void removeStudyBookmark(Long studyId, Long userId) {
         // 북마크 삭제
-        Optional<Bookmark> result = bookmarkRepository.find(studyId, userId);
-        result.orElseThrow(() -> new StudyLikeException(ERROR.REMOVE)).remove();
-
-        // study - bookmarkCnt 감소
-        Study study = studyRepository.findById(studyId).orElseThrow(() -> new StudyNotFoundException(ERROR.FIND));
-        study.removeBookmark();
+        if(bookmarkRepository.remove(studyId, userId) > 0) {
+            studyRepository.addBookmarkCnt(studyId, -1);
+            eventPublisher.publishEvent(new StudyCountChangedEvent(studyId, 0, -1));
+        }
     }
 
     @Override
@@ -596,12 +547,14 @@ public class StudyServiceImpl implements StudyService {
             throw new StudyTagException(ERROR.CREATE);
         }
         studyTagRepository.save(studyTagDto.toEntity());
+        eventPublisher.publishEvent(new StudyChangedEvent(studyTagDto.getStudyId()));
     }
 
     @Override
     public void removeStudyTag(Long studyId, Long tagId) {
         Optional<StudyTag> result = studyTagRepository.find(studyId, tagId);
         result.orElseThrow(() -> new StudyTagException(ERROR.REMOVE)).remove();
+        eventPublisher.publishEvent(new StudyChangedEvent(studyId));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.ssafy.lighthouse.domain.user.entity;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 
 import com.ssafy.lighthouse.domain.common.BaseEntity;
@@ -31,6 +32,15 @@ public class User extends BaseEntity {
 	private String description;
 	private String token;
 	private String providerId;
+	// 평점 / 팔로우 집계, UserRepository의 증감 쿼리와 UserReputationRebuilder만 변경한다
+	@Column(insertable = false, updatable = false)
+	private long scoreSum;
+	@Column(insertable = false, updatable = false)
+	private long scoreCnt;
+	@Column(insertable = false, updatable = false)
+	private long followingCnt;
+	@Column(insertable = false, updatable = false)
+	private long followerCnt;
 	//@OneToMany(mappedBy = "user")
 	//private List<UserTag> userTags = new ArrayList<>();
 
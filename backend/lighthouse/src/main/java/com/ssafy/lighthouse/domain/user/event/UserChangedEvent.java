@@ -0,0 +1,11 @@
+package com.ssafy.lighthouse.domain.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 유저 가입 / 정보 수정 / 탈퇴, 커밋 이후 인덱스 / 캐시 갱신에 사용
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+}
@@ -0,0 +1,11 @@
+package com.ssafy.lighthouse.domain.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 프로필 카드에만 보이는 변경 (프로필 이미지, 평점, 뱃지), 검색 색인은 다시 만들지 않는다
+@Getter
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+    private final Long userId;
+}
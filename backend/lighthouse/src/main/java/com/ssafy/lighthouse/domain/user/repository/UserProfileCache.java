@@ -0,0 +1,57 @@
+package com.ssafy.lighthouse.domain.user.repository;
+
+import com.ssafy.lighthouse.domain.user.dto.SimpleProfileResponse;
+import com.ssafy.lighthouse.domain.user.event.UserChangedEvent;
+import com.ssafy.lighthouse.domain.user.event.UserProfileChangedEvent;
+import com.ssafy.lighthouse.global.cache.CollapsingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// userId -> SimpleProfileResponse 캐시 (스터디 카드, 상세, 프로필 페이지 공용), UserRepositoryImpl 의 read-through 캐시
+// 유저 정보 / 태그 수정, 탈퇴, 프로필 이미지, 평점, 뱃지 변경 시 해당 유저만 무효화한다
+// 태그 / 뱃지 자체의 수정은 ttl 만큼 늦게 반영
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private final CollapsingCache<Long, SimpleProfileResponse> cache;
+
+    public UserProfileCache(@Value("${user.profile-cache.max-size:10000}") int maxSize,
+                            @Value("${user.profile-cache.ttl-ms:60000}") long ttlMs) {
+        this.cache = new CollapsingCache<>(maxSize, ttlMs);
+    }
+
+    // 캐시에 없는 userId만 모아 loader 한 번으로 조회
+    public Map<Long, SimpleProfileResponse> getAll(Collection<Long> userIds, Function<Set<Long>, Map<Long, SimpleProfileResponse>> loader) {
+        return cache.getAll(userIds, loader);
+    }
+
+    public CollapsingCache<Long, SimpleProfileResponse> getCache() {
+        return cache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    @Scheduled(fixedDelayString = "${user.profile-cache.report-ms:60000}", initialDelayString = "${user.profile-cache.report-ms:60000}")
+    public void report() {
+        log.info("user profile cache size={} hits={} collapsed={} misses={} hitRate={}",
+                cache.size(), cache.getHits(), cache.getCollapsed(), cache.getMisses(), String.format("%.3f", cache.getHitRate()));
+    }
+}
@@ -35,6 +35,19 @@ public interface UserRepository extends JpaRepository<User, Long>, UserRepositor
 	@Query("UPDATE User u SET u.isValid = 0 WHERE u.id = :userId")
 	void updateIsValidToZero(@Param("userId") Long userId);
 
+	// 평점 / 팔로우 집계 증감 (평가, 팔로우 등록 / 삭제와 같은 트랜잭션)
+	@Modifying
+	@Query(value = "UPDATE `user` SET score_sum = score_sum + :score, score_cnt = score_cnt + :cnt WHERE id = :userId", nativeQuery = true)
+	int addScore(@Param("userId") Long userId, @Param("score") int score, @Param("cnt") int cnt);
+
+	@Modifying
+	@Query(value = "UPDATE `user` SET following_cnt = GREATEST(following_cnt + :delta, 0) WHERE id = :userId", nativeQuery = true)
+	int addFollowingCnt(@Param("userId") Long userId, @Param("delta") int delta);
+
+	@Modifying
+	@Query(value = "UPDATE `user` SET follower_cnt = GREATEST(follower_cnt + :delta, 0) WHERE id = :userId", nativeQuery = true)
+	int addFollowerCnt(@Param("userId") Long userId, @Param("delta") int delta);
+
 	// @Query("SELECT u FROM User u LEFT JOIN FETCH u.userTags ut LEFT JOIN FETCH ut.tag WHERE u.id = :userId")
 	// User findUserWithTags(@Param("userId") Long userId);
 }
@@ -5,11 +5,14 @@ import com.ssafy.lighthouse.domain.user.dto.SimpleProfileResponse;
 import com.ssafy.lighthouse.domain.user.dto.SimpleUserResponse;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface UserRepositoryCustom {
     ProfileResponse findProfileByUserId(Long userId, Long loginId);
     SimpleProfileResponse findSimpleProfileByUserId(Long userId);
     List<SimpleProfileResponse> findSimpleProfileByUserIds(List<Long> userIds);
+    Map<Long, SimpleProfileResponse> findSimpleProfileMapByUserIds(Collection<Long> userIds);
     SimpleUserResponse findUserInfo(@Param("userId") Long userId);
 }
@@ -1,20 +1,15 @@
 package com.ssafy.lighthouse.domain.user.repository;
 
-import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.ssafy.lighthouse.domain.common.dto.BadgeResponse;
 import com.ssafy.lighthouse.domain.common.dto.TagDto;
-import com.ssafy.lighthouse.domain.common.entity.Badge;
 import com.ssafy.lighthouse.domain.study.dto.SimpleStudyDto;
-import com.ssafy.lighthouse.domain.study.entity.ParticipationHistory;
 import com.ssafy.lighthouse.domain.study.entity.Study;
-import com.ssafy.lighthouse.domain.study.repository.BookmarkRepository;
-import com.ssafy.lighthouse.domain.study.repository.ParticipationHistoryRepository;
 import com.ssafy.lighthouse.domain.user.dto.ProfileResponse;
 import com.ssafy.lighthouse.domain.user.dto.SimpleProfileResponse;
 import com.ssafy.lighthouse.domain.user.dto.SimpleUserResponse;
-import com.ssafy.lighthouse.domain.user.entity.QFollow;
 import com.ssafy.lighthouse.global.util.ROLE;
 import com.ssafy.lighthouse.global.util.STATUS;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +19,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static com.querydsl.jpa.JPAExpressions.select;
+import static com.ssafy.lighthouse.domain.common.entity.QBadge.badge;
 import static com.ssafy.lighthouse.domain.common.entity.QTag.tag;
 import static com.ssafy.lighthouse.domain.study.entity.QBookmark.bookmark;
 import static com.ssafy.lighthouse.domain.study.entity.QParticipationHistory.participationHistory;
@@ -31,26 +27,67 @@ import static com.ssafy.lighthouse.domain.study.entity.QStudy.study;
 import static com.ssafy.lighthouse.domain.study.entity.QStudyLike.studyLike;
 import static com.ssafy.lighthouse.domain.user.entity.QFollow.follow;
 import static com.ssafy.lighthouse.domain.user.entity.QUser.user;
-import static com.ssafy.lighthouse.domain.user.entity.QUserEval.userEval;
+import static com.ssafy.lighthouse.domain.user.entity.QUserBadge.userBadge;
+import static com.ssafy.lighthouse.domain.user.entity.QUserTag.userTag;
 
 @Repository
 @RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepositoryCustom{
 
     private final JPAQueryFactory jpaQueryFactory;
-    private final ParticipationHistoryRepository participationHistoryRepository;
-    private final BookmarkRepository bookmarkRepository;
-    private final UserTagRepository userTagRepository;
-    private final UserBadgeRepository userBadgeRepository;
+    private final UserProfileCache userProfileCache;
 
+    // 스터디 수와 상관없이 고정된 횟수의 쿼리로 조립
+    // 참여 이력, 스터디, 북마크 스터디, (본인 프로필이면) 신청자, 유저 정보, 프로필 map (리더 + 신청자 + 본인)
     @Override
     public ProfileResponse findProfileByUserId(Long userId, Long loginId) {
-        // all
-        Set<Long> allStudyIdSet = participationHistoryRepository.findStudyIdAllByUserId(userId);
-        // participated StudyIdSet
-        Set<Long> participatedStudyIdSet = participationHistoryRepository.findStudyIdAllByUserIdandStatus(userId, STATUS.PREPARING);
+        // studyId -> 참여 status (중단 제외)
+        Map<Long, Integer> participationStatus = new HashMap<>();
+        jpaQueryFactory.select(participationHistory.studyId, participationHistory.status)
+                .from(participationHistory)
+                .where(participationHistory.userId.eq(userId),
+                        participationHistory.isValid.eq(1),
+                        participationHistory.status.ne(STATUS.LEAVED))
+                .fetch()
+                .forEach(tuple -> participationStatus.merge(tuple.get(participationHistory.studyId), tuple.get(participationHistory.status), Math::min));
+
+        List<Study> studyList = participationStatus.isEmpty() ? new ArrayList<>() : jpaQueryFactory.select(study)
+                .from(study)
+                .where(study.id.in(participationStatus.keySet()), study.isValid.eq(1))
+                .fetch();
+        boolean isMine = userId.equals(loginId);
+
+        // 내가 리더인 모집중 스터디에 참가 신청한 유저 아이디
+        Map<Long, List<Long>> applicantIds = new HashMap<>();
+        if(isMine) {
+            List<Long> leaderStudies = studyList.stream()
+                    .filter(study -> study.getStatus() == STATUS.RECRUITING
+                            && !Objects.equals(participationStatus.get(study.getId()), STATUS.PREPARING)
+                            && userId.equals(study.getLeaderId()))
+                    .map(Study::getId)
+                    .collect(Collectors.toList());
+
+            if(!leaderStudies.isEmpty()) {
+                jpaQueryFactory.select(participationHistory.studyId, participationHistory.userId)
+                        .from(participationHistory)
+                        .where(participationHistory.studyId.in(leaderStudies),
+                                participationHistory.isValid.eq(1),
+                                participationHistory.status.eq(STATUS.PREPARING),
+                                participationHistory.userRole.eq(ROLE.TEAMMATE))
+                        .orderBy(participationHistory.id.asc())
+                        .fetch()
+                        .forEach(tuple -> applicantIds.computeIfAbsent(tuple.get(participationHistory.studyId), id -> new ArrayList<>())
+                                .add(tuple.get(participationHistory.userId)));
+            }
+        }
+
+        // 리더, 신청자, 본인 프로필 한 번에
+        Set<Long> profileIds = new HashSet<>();
+        profileIds.add(userId);
+        studyList.forEach(study -> profileIds.add(study.getLeaderId()));
+        applicantIds.values().forEach(profileIds::addAll);
+        Map<Long, SimpleProfileResponse> profiles = findSimpleProfileMapByUserIds(profileIds);
 
-        List<Study> studyList = jpaQueryFactory.select(study).from(study).where(study.id.in(allStudyIdSet), study.isValid.eq(1)).fetch();
         List<SimpleStudyDto> participatedStudies = new ArrayList<>();
         List<SimpleStudyDto> recruitingStudies = new ArrayList<>();
         List<SimpleStudyDto> progressStudies = new ArrayList<>();
@@ -58,13 +95,13 @@ public class UserRepositoryImpl implements UserRepositoryCustom{
 
         studyList.forEach((study) -> {
             SimpleStudyDto simpleStudyDto = new SimpleStudyDto(study);
-            simpleStudyDto.setLeaderProfile(findSimpleProfileByUserId(study.getLeaderId()));
+            simpleStudyDto.setLeaderProfile(profiles.get(study.getLeaderId()));
 
             // status에 따른 스터디 분류
             switch(study.getStatus()) {
                 // 생성중 스터디
                 case STATUS.PREPARING:
-                    if(userId.equals(loginId)) {
+                    if(isMine) {
                         participatedStudies.add(simpleStudyDto);
                     }
                     break;
@@ -72,8 +109,8 @@ public class UserRepositoryImpl implements UserRepositoryCustom{
                 // 모집중 스터디
                 case STATUS.RECRUITING:
                     // 신청한 스터디
-                    if(participatedStudyIdSet.contains(study.getId())) {
-                        if(userId.equals(loginId)) {
+                    if(Objects.equals(participationStatus.get(study.getId()), STATUS.PREPARING)) {
+                        if(isMine) {
                             participatedStudies.add(simpleStudyDto);
                         }
                     }
@@ -97,65 +134,37 @@ public class UserRepositoryImpl implements UserRepositoryCustom{
         });
 
         // 북마크한 스터디
-        Set<Long> bookmarkSet = bookmarkRepository.findAllByUserId(userId);
         List<SimpleStudyDto> bookmarkStudies = jpaQueryFactory.select(study)
                 .from(study)
-                .where(study.id.in(bookmarkSet),
+                .where(study.id.in(select(bookmark.studyId).from(bookmark).where(bookmark.userId.eq(userId), bookmark.isValid.eq(1))),
                         study.isValid.eq(1))
                 .fetch()
                 .stream()
                 .map(SimpleStudyDto::new)
                 .collect(Collectors.toList());
 
-        QFollow followee = new QFollow("followee");
+        // 팔로우 수는 user에 집계된 값
         ProfileResponse result = jpaQueryFactory.select(Projections.fields(ProfileResponse.class,
                         user.id,
                         user.isValid,
                         user.nickname,
                         user.profileImgUrl,
                         user.description,
-                        ExpressionUtils.as(select(userEval.score.avg()).from(userEval).where(userEval.userId.eq(userId), userEval.isValid.eq(1)), "score"),
-                        ExpressionUtils.as(select(follow.followeeId.count()).from(follow).where(follow.followerId.eq(userId), follow.isValid.eq(1)), "following"),
-                        ExpressionUtils.as(select(followee.followerId.count()).from(followee).where(followee.followeeId.eq(userId), followee.isValid.eq(1)), "follower")))
+                        user.followingCnt.as("following"),
+                        user.followerCnt.as("follower")))
                 .from(user)
                 .where(user.id.eq(userId), user.isValid.eq(1))
                 .fetchOne();
 
-        // badgeList
-        List<BadgeResponse> badgeResponses = getBadgeResponsesByUserId(userId);
-
-        // tag
-        Set<Long> tagSet = userTagRepository.findTagIdAllByUserId(userId);
-        List<TagDto> tags = jpaQueryFactory.select(Projections.constructor(TagDto.class, tag)).from(tag).where(tag.id.in(tagSet), tag.isValid.eq(1)).fetch();
-
-        // userInfo
-//        SimpleUserResponse userInfo = findUserInfo(loginId);
+        // 평점, 태그, 뱃지는 프로필 map에서
+        SimpleProfileResponse profile = profiles.get(userId);
 
         // participatedUserProfiles
         Map<Long, List<SimpleProfileResponse>> participatedUserProfiles = new HashMap<>();
-        if(userId.equals(loginId)) {
-            // 내가 리더인 스터디
-            List<Long> leaderStudies = recruitingStudies.stream()
-                    .filter(study -> study.getLeaderProfile().getId().equals(loginId))
-                    .map(SimpleStudyDto::getId)
-                    .collect(Collectors.toList());
-            
-            // 내가 리더인 스터디에 참가 신청한 유저 아이디
-            List<ParticipationHistory> participationHistories = jpaQueryFactory.selectFrom(participationHistory)
-                    .where(participationHistory.studyId.in(leaderStudies),
-                            participationHistory.isValid.eq(1),
-                            participationHistory.status.eq(STATUS.PREPARING),
-                            participationHistory.userRole.eq(ROLE.TEAMMATE))
-                    .fetch();
-
-            // map에 담기
-            participationHistories.stream()
-                    .collect(Collectors.groupingBy(ParticipationHistory::getStudyId))
-                    .forEach((studyId, val) -> {
-                        List<Long> userIds = val.stream().map(ParticipationHistory::getUserId).collect(Collectors.toList());
-                        participatedUserProfiles.put(studyId, findSimpleProfileByUserIds(userIds));
-                    });
-        }
+        applicantIds.forEach((studyId, userIds) -> participatedUserProfiles.put(studyId, userIds.stream()
+                .map(profiles::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())));
 
         return ProfileResponse.builder()
                 .id(result.getId())
@@ -163,15 +172,15 @@ public class UserRepositoryImpl implements UserRepositoryCustom{
                 .nickname(result.getNickname())
                 .profileImgUrl(result.getProfileImgUrl())
                 .description(result.getDescription())
-                .tags(tags)
-                .badges(badgeResponses)
+                .tags(profile.getTags())
+                .badges(profile.getBadges())
                 .participatedStudies(participatedStudies)
                 .recruitingStudies(recruitingStudies)
                 .progressStudies(progressStudies)
                 .terminatedStudies(terminatedStudies)
                 .bookmarkStudies(bookmarkStudies)
                 .participatedUserProfiles(participatedUserProfiles)
-                .score(result.getScore())
+                .score(profile.getScore())
                 .following(result.getFollowing())
                 .follower(result.getFollower())
                 .build();
@@ -179,62 +188,76 @@ public class UserRepositoryImpl implements UserRepositoryCustom{
 
     @Override
     public SimpleProfileResponse findSimpleProfileByUserId(Long userId) {
-        SimpleProfileResponse result = jpaQueryFactory.select(Projections.fields(SimpleProfileResponse.class,
-                        user.id,
-                        user.isValid,
-                        user.nickname,
-                        user.profileImgUrl,
-                        user.description,
-                        ExpressionUtils.as(select(userEval.score.avg()).from(userEval).where(userEval.userId.eq(userId), userEval.isValid.eq(1)), "score")))
-                .from(user)
-                .where(user.id.eq(userId), user.isValid.eq(1))
-                .fetchOne();
-
-        Set<Long> tagSet = userTagRepository.findTagIdAllByUserId(userId);
-        List<TagDto> tags = jpaQueryFactory.select(Projections.constructor(TagDto.class, tag)).from(tag).where(tag.id.in(tagSet), tag.isValid.eq(1)).fetch();
-
-        // badgeList
-        List<BadgeResponse> badgeResponses = getBadgeResponsesByUserId(userId);
-
-        return SimpleProfileResponse.builder()
-                .id(result.getId())
-                .isValid(result.getIsValid())
-                .nickname(result.getNickname())
-                .profileImgUrl(result.getProfileImgUrl())
-                .description(result.getDescription())
-                .tags(tags)
-                .badges(badgeResponses)
-                .score(result.getScore())
-                .build();
+        return findSimpleProfileMapByUserIds(Collections.singleton(userId)).get(userId);
     }
 
+    // 요청한 userIds 순서대로 (유효하지 않은 유저 제외)
     @Override
     public List<SimpleProfileResponse> findSimpleProfileByUserIds(List<Long> userIds) {
-        List<SimpleProfileResponse> result = jpaQueryFactory.select(Projections.fields(SimpleProfileResponse.class,
-                        user.id,
-                        user.isValid,
-                        user.nickname,
-                        user.profileImgUrl,
-                        user.description,
-                        ExpressionUtils.as(select(userEval.score.avg()).from(userEval).where(userEval.userId.eq(user.id), userEval.isValid.eq(1)), "score")))
+        Map<Long, SimpleProfileResponse> profiles = findSimpleProfileMapByUserIds(userIds);
+        return userIds.stream()
+                .distinct()
+                .map(profiles::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // userId별 SimpleProfileResponse, UserProfileCache에 없는 유저만 조회
+    // 유효하지 않은 유저는 map에 포함되지 않음
+    @Override
+    public Map<Long, SimpleProfileResponse> findSimpleProfileMapByUserIds(Collection<Long> userIds) {
+        if(userIds == null || userIds.isEmpty()) return new HashMap<>();
+        return userProfileCache.getAll(userIds, this::loadSimpleProfileMap);
+    }
+
+    // 유저 수와 상관없이 3번의 쿼리 (유저 + 평점, 태그, 뱃지)
+    private Map<Long, SimpleProfileResponse> loadSimpleProfileMap(Set<Long> userIdSet) {
+        Map<Long, SimpleProfileResponse> profiles = new HashMap<>();
+
+        // users (평점은 user에 집계된 합 / 개수)
+        List<Tuple> users = jpaQueryFactory.select(user.id, user.isValid, user.nickname, user.profileImgUrl, user.description, user.scoreSum, user.scoreCnt)
                 .from(user)
-                .where(user.id.in(userIds), user.isValid.eq(1))
+                .where(user.id.in(userIdSet), user.isValid.eq(1))
                 .fetch();
+        if(users.isEmpty()) return profiles;
 
-        return result.stream().map((simpleProfileResponse) -> SimpleProfileResponse.builder()
-                .id(simpleProfileResponse.getId())
-                .isValid(simpleProfileResponse.getIsValid())
-                .nickname(simpleProfileResponse.getNickname())
-                .profileImgUrl(simpleProfileResponse.getProfileImgUrl())
-                .description(simpleProfileResponse.getDescription())
-                .tags(jpaQueryFactory
-                        .select(Projections.constructor(TagDto.class, tag))
-                        .from(tag)
-                        .where(tag.id.in(userTagRepository.findTagIdAllByUserId(simpleProfileResponse.getId())), tag.isValid.eq(1))
-                        .fetch())
-                .score(simpleProfileResponse.getScore())
-                .build())
-                .collect(Collectors.toList());
+        // tags
+        Map<Long, List<TagDto>> tags = new HashMap<>();
+        jpaQueryFactory.select(userTag.userId, tag)
+                .from(userTag, tag)
+                .where(userTag.tagId.eq(tag.id),
+                        userTag.userId.in(userIdSet),
+                        userTag.isValid.eq(1),
+                        tag.isValid.eq(1))
+                .orderBy(tag.id.asc())
+                .fetch()
+                .forEach(tuple -> tags.computeIfAbsent(tuple.get(userTag.userId), id -> new ArrayList<>()).add(new TagDto(tuple.get(tag))));
+
+        // badgeList (생성 순)
+        Map<Long, List<BadgeResponse>> badges = new HashMap<>();
+        jpaQueryFactory.selectFrom(userBadge)
+                .join(userBadge.badge, badge).fetchJoin()
+                .where(userBadge.userId.in(userIdSet),
+                        userBadge.isValid.eq(1),
+                        badge.isValid.eq(1))
+                .orderBy(userBadge.createdAt.desc())
+                .fetch()
+                .forEach(ub -> badges.computeIfAbsent(ub.getUserId(), id -> new ArrayList<>()).add(new BadgeResponse(ub.getBadge())));
+
+        users.forEach(tuple -> {
+            Long id = tuple.get(user.id);
+            profiles.put(id, SimpleProfileResponse.builder()
+                    .id(id)
+                    .isValid(tuple.get(user.isValid))
+                    .nickname(tuple.get(user.nickname))
+                    .profileImgUrl(tuple.get(user.profileImgUrl))
+                    .description(tuple.get(user.description))
+                    .tags(tags.getOrDefault(id, new ArrayList<>()))
+                    .badges(badges.getOrDefault(id, new ArrayList<>()))
+                    .score(averageScore(tuple.get(user.scoreSum), tuple.get(user.scoreCnt)))
+                    .build());
+        });
+        return profiles;
     }
 
     @Override
@@ -264,19 +287,9 @@ public class UserRepositoryImpl implements UserRepositoryCustom{
                 .build();
     }
 
-    // badgeList
-    private List<BadgeResponse> getBadgeResponsesByUserId(Long userId) {
-        return userBadgeRepository.findBadgeIdAllByUserId(userId).stream()
-                        .filter(userBadge -> userBadge.getBadge().isValid())
-                        .map(userBadge -> {
-                            Badge badge = userBadge.getBadge();
-                            return BadgeResponse.builder()
-                                    .name(badge.getName())
-                                    .imgUrl(badge.getImgUrl())
-                                    .description(badge.getDescription())
-                                    .id(badge.getId())
-                                    .build();
-                        })
-                        .collect(Collectors.toList());
+    // 평가가 없으면 null (avg와 동일)
+    private Double averageScore(Long scoreSum, Long scoreCnt) {
+        if(scoreSum == null || scoreCnt == null || scoreCnt <= 0) return null;
+        return (double) scoreSum / scoreCnt;
     }
 }
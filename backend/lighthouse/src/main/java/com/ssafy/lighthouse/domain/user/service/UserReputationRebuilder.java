@@ -0,0 +1,29 @@
+package com.ssafy.lighthouse.domain.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// user.score_sum / score_cnt / following_cnt / follower_cnt 재계산
+// 평소에는 UserServiceImpl이 평가, 팔로우 등록 / 삭제 때 증감하고, 여기서 주기적으로 원본 테이블과 맞춘다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserReputationRebuilder {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(fixedDelayString = "${user.reputation.rebuild-ms:3600000}", initialDelayString = "${user.reputation.rebuild-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update("UPDATE `user` u LEFT JOIN (SELECT user_id, SUM(score) AS score_sum, COUNT(score) AS score_cnt FROM user_eval WHERE is_valid = 1 GROUP BY user_id) e"
+                + " ON e.user_id = u.id SET u.score_sum = COALESCE(e.score_sum, 0), u.score_cnt = COALESCE(e.score_cnt, 0)");
+        jdbcTemplate.update("UPDATE `user` u LEFT JOIN (SELECT follower_id, COUNT(*) AS cnt FROM follow WHERE is_valid = 1 GROUP BY follower_id) f"
+                + " ON f.follower_id = u.id SET u.following_cnt = COALESCE(f.cnt, 0)");
+        jdbcTemplate.update("UPDATE `user` u LEFT JOIN (SELECT followee_id, COUNT(*) AS cnt FROM follow WHERE is_valid = 1 GROUP BY followee_id) f"
+                + " ON f.followee_id = u.id SET u.follower_cnt = COALESCE(f.cnt, 0)");
+        log.info("user reputation rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+}
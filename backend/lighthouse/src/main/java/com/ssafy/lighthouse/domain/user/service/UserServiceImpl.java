@@ -20,10 +20,14 @@ import com.ssafy.lighthouse.domain.user.repository.FollowRepository;
 import com.ssafy.lighthouse.domain.user.repository.UserEvalRepository;
 import com.ssafy.lighthouse.domain.user.repository.UserRepository;
 import com.ssafy.lighthouse.domain.user.repository.UserTagRepository;
+import com.ssafy.lighthouse.global.jdbc.JdbcBatchWriter;
 import com.ssafy.lighthouse.global.util.ERROR;
 
+import com.ssafy.lighthouse.domain.user.event.UserChangedEvent;
+import com.ssafy.lighthouse.domain.user.event.UserProfileChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -37,6 +41,8 @@ public class UserServiceImpl implements UserService {
 	private final UserEvalRepository userEvalRepository;
 	private final FollowRepository followRepository;
 	private final AlertQueueRepository alertQueueRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final JdbcBatchWriter jdbcBatchWriter;
 
 	@Override
 	public void addUser(UserMyPageDto userMyPageDto) {
@@ -44,14 +50,13 @@ public class UserServiceImpl implements UserService {
 		User user = User.from(userMyPageDto);
 		user.setPassword(BCrypt.hashpw(user.getPassword(), BCrypt.gensalt()));
 		User savedUser = userRepository.save(user);
+		eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
 		List<Long> list = userMyPageDto.getUserTagList();
 		if(list == null) {
 			return;
 		}
-		for (Long tagId : list) {
-			UserTag userTag = UserTag.from(savedUser.getId(), tagId);
-			userTagRepository.save(userTag);
-		}
+		jdbcBatchWriter.insert("user_tag", new String[]{"user_id", "tag_id"}, list,
+			tagId -> new Object[]{savedUser.getId(), tagId});
 	}
 
 	@Override
@@ -103,6 +108,7 @@ public class UserServiceImpl implements UserService {
 			userMyPageDto.getNickname(), fileUrl,
 			userMyPageDto.getAge(), userMyPageDto.getSidoId(), userMyPageDto.getGugunId(),
 			userMyPageDto.getPhoneNumber(), userMyPageDto.getDescription());
+		eventPublisher.publishEvent(new UserChangedEvent(foundUser.getId()));
 
 		userTagRepository.updateIsValidToZeroByUserId(foundUser.getId());
 
@@ -110,15 +116,14 @@ public class UserServiceImpl implements UserService {
 		if(list == null) {
 			return;
 		}
-		for (Long tagId : list) {
-			UserTag userTag = UserTag.from(foundUser.getId(), tagId);
-			userTagRepository.save(userTag);
-		}
+		jdbcBatchWriter.insert("user_tag", new String[]{"user_id", "tag_id"}, list,
+			tagId -> new Object[]{foundUser.getId(), tagId});
 	}
 
 	@Override
 	public void deleteUser(Long userId) {
 		userRepository.updateIsValidToZero(userId);
+		eventPublisher.publishEvent(new UserChangedEvent(userId));
 	}
 
 	@Override
@@ -160,13 +165,18 @@ public class UserServiceImpl implements UserService {
 		if (result.isPresent()) {
 			throw new UserNotFoundException(ERROR.CREATE);
 		}
-		userEvalRepository.save(userEvalDto.toEntity());
+		UserEval userEval = userEvalRepository.save(userEvalDto.toEntity());
+		userRepository.addScore(userEval.getUserId(), userEval.getScore(), 1);
+		eventPublisher.publishEvent(new UserProfileChangedEvent(userEval.getUserId()));
 	}
 
 	@Override
 	public void removeUserEval(Long userId, Long evaluatorId) {
 		Optional<UserEval> result = userEvalRepository.find(userId, evaluatorId);
-		result.orElseThrow(() -> new UserNotFoundException(ERROR.REMOVE)).remove();
+		UserEval userEval = result.orElseThrow(() -> new UserNotFoundException(ERROR.REMOVE));
+		userEval.remove();
+		userRepository.addScore(userId, -userEval.getScore(), -1);
+		eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 	}
 
 	@Override
@@ -179,6 +189,8 @@ public class UserServiceImpl implements UserService {
 			.followerId(followerId)
 			.followeeId(followeeId)
 			.build());
+		userRepository.addFollowingCnt(followerId, 1);
+		userRepository.addFollowerCnt(followeeId, 1);
 	}
 
 	@Override
@@ -187,6 +199,8 @@ public class UserServiceImpl implements UserService {
 		log.debug("followeeId : {}", result.get().getFolloweeId());
 		log.debug("followerId : {}", result.get().getFollowerId());
 		result.orElseThrow(() -> new UserNotFoundException(ERROR.REMOVE)).remove();
+		userRepository.addFollowingCnt(followerId, -1);
+		userRepository.addFollowerCnt(followeeId, -1);
 	}
 
 	@Override
@@ -206,6 +220,7 @@ public class UserServiceImpl implements UserService {
 
 		// s3에 파일 업로드 & user의 profileImgUrl 변경
 		user.changeProfileImgUrl(S3Utils.uploadFile("profile", img));
+		eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 	}
 
 	@Override
@@ -248,6 +263,8 @@ public class UserServiceImpl implements UserService {
 			.isValid(1)
 			.profileImgUrl(oauthUser.getProfileImg())
 			.build();
-		return userRepository.save(newUser);
+		User savedUser = userRepository.save(newUser);
+		eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+		return savedUser;
 	}
 }
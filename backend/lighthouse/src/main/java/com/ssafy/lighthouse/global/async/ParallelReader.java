@@ -0,0 +1,41 @@
+package com.ssafy.lighthouse.global.async;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+// 조회 API의 독립적인 섹션을 readExecutor 에서 동시에 실행
+// 섹션마다 별도의 읽기 전용 트랜잭션 (커넥션, 영속성 컨텍스트) 이므로 엔티티는 섹션 안에서 DTO로 바꿔서 반환해야 한다
+// 호출하는 쪽은 트랜잭션 밖에 있어야 한다 (아직 커밋되지 않은 변경은 섹션에서 보이지 않음)
+@Component
+public class ParallelReader {
+
+    private final ExecutorService readExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ParallelReader(@Qualifier("readExecutor") ExecutorService readExecutor, PlatformTransactionManager transactionManager) {
+        this.readExecutor = readExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> section.get()), readExecutor);
+    }
+
+    // 섹션에서 던진 예외는 그대로 다시 던진다
+    public <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
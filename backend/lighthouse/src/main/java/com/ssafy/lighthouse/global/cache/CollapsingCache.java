@@ -0,0 +1,194 @@
+package com.ssafy.lighthouse.global.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// 크기 / TTL 제한이 있는 조회 결과 캐시
+// 같은 key의 동시 miss는 먼저 들어온 요청 하나만 loader를 실행하고 나머지는 그 결과를 기다린다 (request collapsing)
+// 로딩 중에 invalidate된 entry는 map에서 빠지므로 로딩 결과가 캐시에 남지 않는다
+public class CollapsingCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public CollapsingCache(int maxSize, long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.isFresh(now, ttlMs)) {
+            if (entry.future.isDone()) {
+                hits.increment();
+            } else {
+                collapsed.increment();
+            }
+            return join(entry.future);
+        }
+
+        Entry<V> created = new Entry<>(now);
+        Entry<V> current = entries.compute(key, (k, e) -> e != null && e.isFresh(now, ttlMs) ? e : created);
+        if (current != created) {
+            collapsed.increment();
+            return join(current.future);
+        }
+
+        misses.increment();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.future.completeExceptionally(e);
+            throw e;
+        }
+        created.future.complete(value);
+
+        if (entries.size() > maxSize) evict(System.currentTimeMillis());
+        return value;
+    }
+
+    // 여러 key를 한 번에 조회, 캐시에 없는 key만 모아 loader를 한 번 실행한다
+    // loader 결과에 없는 key는 null로 캐시된다 (없는 대상을 반복해서 조회하지 않도록)
+    // 반환 map에는 값이 null이 아닌 key만 담긴다
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        long now = System.currentTimeMillis();
+        Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        Map<K, Entry<V>> loading = new HashMap<>();
+
+        for (K key : new LinkedHashSet<>(keys)) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || !entry.isFresh(now, ttlMs)) {
+                Entry<V> created = new Entry<>(now);
+                entry = entries.compute(key, (k, e) -> e != null && e.isFresh(now, ttlMs) ? e : created);
+                if (entry == created) {
+                    loading.put(key, created);
+                    waiting.put(key, created.future);
+                    continue;
+                }
+            }
+
+            if (entry.future.isDone()) {
+                hits.increment();
+            } else {
+                collapsed.increment();
+            }
+            waiting.put(key, entry.future);
+        }
+
+        if (!loading.isEmpty()) {
+            misses.add(loading.size());
+            Map<K, V> loaded;
+            try {
+                loaded = loader.apply(new LinkedHashSet<>(loading.keySet()));
+            } catch (RuntimeException e) {
+                loading.forEach((key, created) -> {
+                    entries.remove(key, created);
+                    created.future.completeExceptionally(e);
+                });
+                throw e;
+            }
+            loading.forEach((key, created) -> created.future.complete(loaded == null ? null : loaded.get(key)));
+
+            if (entries.size() > maxSize) evict(System.currentTimeMillis());
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        waiting.forEach((key, future) -> {
+            V value = join(future);
+            if (value != null) result.put(key, value);
+        });
+        return result;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // 다른 요청의 로딩 결과를 기다린 횟수
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    // 로딩을 기다린 요청도 DB를 거치지 않았으므로 hit로 본다
+    public double getHitRate() {
+        long served = hits.sum() + collapsed.sum();
+        long total = served + misses.sum();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    // 만료된 entry를 지우고, 그래도 크면 오래된 순으로 maxSize까지 지운다
+    private void evict(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().future.isDone() && !e.getValue().isFresh(now, ttlMs));
+        int over = entries.size() - maxSize;
+        if (over <= 0) return;
+
+        List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort((a, b) -> Long.compare(a.getValue().loadedAt, b.getValue().loadedAt));
+        for (int i = 0; i < over && i < oldest.size(); i++) {
+            entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue());
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private static class Entry<V> {
+        private final long loadedAt;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private Entry(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        // 로딩 중인 entry는 항상 유효 (같은 key의 요청을 모은다)
+        private boolean isFresh(long now, long ttlMs) {
+            return !future.isDone() || now - loadedAt < ttlMs;
+        }
+    }
+}
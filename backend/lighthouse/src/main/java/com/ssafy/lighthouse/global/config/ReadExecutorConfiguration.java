@@ -0,0 +1,43 @@
+package com.ssafy.lighthouse.global.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 조회 API 섹션 병렬 로딩용 executor (ParallelReader)
+// JDK 21 이상에서 read.executor.virtual=true 면 virtual thread, 아니면 크기 제한이 있는 thread pool
+// 큐가 차면 요청 thread가 직접 실행한다 (요청 thread는 커넥션을 잡고 있지 않으므로 커넥션 풀 고갈로 멈추지 않는다)
+@Slf4j
+@Configuration
+public class ReadExecutorConfiguration {
+
+    @Bean(name = "readExecutor", destroyMethod = "shutdown")
+    public ExecutorService readExecutor(@Value("${read.executor.threads:8}") int threads,
+                                        @Value("${read.executor.queue-size:256}") int queueSize,
+                                        @Value("${read.executor.virtual:false}") boolean virtual) {
+        if (virtual) {
+            try {
+                ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("read executor : virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.info("read executor : virtual threads not supported, using {} threads", threads);
+            }
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "read-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,48 @@
+package com.ssafy.lighthouse.global.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+// id가 필요 없는 대량 insert 용 (BaseEntity 는 IDENTITY 라 hibernate가 insert를 batch로 묶지 않는다)
+// rows 를 batchSize 단위의 jdbc batch로 실행, rewriteBatchedStatements=true 면 드라이버가 multi-row insert 한 문장으로 바꾼다
+// 현재 트랜잭션의 커넥션을 사용하고, 영속성 컨텍스트에는 올라가지 않는다
+// created_at, is_valid 등 columns 에 없는 컬럼은 DB 기본값
+@Component
+public class JdbcBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public JdbcBatchWriter(JdbcTemplate jdbcTemplate,
+                           @Value("${jdbc.batch-writer.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // insert into {table} ({columns}) values (?, ...)
+    public <T> int insert(String table, String[] columns, Collection<T> rows, Function<T, Object[]> values) {
+        if (rows == null || rows.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder("INSERT INTO `").append(table).append("` (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "`" : ", `").append(columns[i]).append("`");
+        }
+        sql.append(") VALUES (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        jdbcTemplate.batchUpdate(sql.toString(), rows, batchSize, (ps, row) -> {
+            Object[] args = values.apply(row);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+        });
+        return rows.size();
+    }
+}
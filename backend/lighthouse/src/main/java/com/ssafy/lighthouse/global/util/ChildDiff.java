@@ -0,0 +1,71 @@
+package com.ssafy.lighthouse.global.util;
+
+import com.ssafy.lighthouse.domain.common.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// 기존 자식 엔티티와 요청 DTO 목록 비교 (id로 색인해서 O(n + m))
+// - 요청 id가 기존에 있으면 update, isValid 가 1 -> 0 으로 바뀌면 soft delete
+// - 요청 id가 없거나 기존에 없으면 insert
+// 요청에 없는 기존 엔티티는 그대로 둔다 (삭제는 isValid = 0 으로 보내야 한다)
+public class ChildDiff<E extends BaseEntity, D> {
+
+    private final List<D> inserts = new ArrayList<>();
+    private final List<E> updateTargets = new ArrayList<>();
+    private final List<D> updateSources = new ArrayList<>();
+    private final List<E> removes = new ArrayList<>();
+
+    private ChildDiff() {
+    }
+
+    public static <E extends BaseEntity, D> ChildDiff<E, D> of(Collection<E> existing, Collection<D> requested,
+                                                                Function<D, Long> idOf, ToIntFunction<D> isValidOf) {
+        ChildDiff<E, D> diff = new ChildDiff<>();
+        if (requested == null || requested.isEmpty()) return diff;
+
+        Map<Long, E> existingById = new HashMap<>();
+        if (existing != null) existing.forEach(entity -> existingById.put(entity.getId(), entity));
+
+        requested.forEach(dto -> {
+            Long id = idOf.apply(dto);
+            E entity = id == null ? null : existingById.get(id);
+            if (entity == null) {
+                diff.inserts.add(dto);
+                return;
+            }
+
+            diff.updateTargets.add(entity);
+            diff.updateSources.add(dto);
+            if (entity.isValid() && isValidOf.applyAsInt(dto) == 0) diff.removes.add(entity);
+        });
+        return diff;
+    }
+
+    // 기존에 없는 요청
+    public List<D> getInserts() {
+        return inserts;
+    }
+
+    // 이번 요청으로 soft delete 되는 엔티티
+    public List<E> getRemoves() {
+        return removes;
+    }
+
+    // 기존 엔티티와 짝이 맞는 요청마다 실행 (변경 감지로 update, hibernate.jdbc.batch_size 단위로 묶여서 실행된다)
+    public void forEachUpdate(BiConsumer<E, D> updater) {
+        for (int i = 0; i < updateTargets.size(); i++) {
+            updater.accept(updateTargets.get(i), updateSources.get(i));
+        }
+    }
+
+    public int getUpdateCount() {
+        return updateTargets.size();
+    }
+}
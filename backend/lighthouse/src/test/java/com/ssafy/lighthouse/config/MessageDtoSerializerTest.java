@@ -0,0 +1,88 @@
+package com.ssafy.lighthouse.config;
+
+import com.ssafy.lighthouse.domain.chat.dto.MessageDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Arrays;
+
+class MessageDtoSerializerTest {
+
+    private final MessageDtoSerializer serializer = new MessageDtoSerializer();
+    private final MessageDtoDeserializer deserializer = new MessageDtoDeserializer();
+
+    @Test
+    public void binaryRoundTrip() {
+        MessageDto messageDto = new MessageDto();
+        messageDto.setType(MessageDto.MessageType.TALK);
+        messageDto.setRoomId("12");
+        messageDto.setSenderId("3");
+        messageDto.setSenderName("등대지기");
+        messageDto.setMessage("안녕하세요");
+        messageDto.setTime(1692000000000L);
+
+        byte[] data = serializer.serialize(KafkaConstants.KAFKA_TOPIC, messageDto);
+        Assertions.assertEquals(MessageDtoSerializer.VERSION, data[0]);
+        Assertions.assertEquals(messageDto, deserializer.deserialize(KafkaConstants.KAFKA_TOPIC, data));
+    }
+
+    @Test
+    public void binaryNullFields() {
+        MessageDto messageDto = new MessageDto();
+        messageDto.setRoomId("12");
+
+        byte[] data = serializer.serialize(KafkaConstants.KAFKA_TOPIC, messageDto);
+        Assertions.assertEquals(messageDto, deserializer.deserialize(KafkaConstants.KAFKA_TOPIC, data));
+    }
+
+    @Test
+    public void readsJson() {
+        MessageDto messageDto = new MessageDto();
+        messageDto.setType(MessageDto.MessageType.ENTER);
+        messageDto.setRoomId("12");
+        messageDto.setTime(1692000000000L);
+
+        byte[] data = new JsonSerializer<MessageDto>().serialize(KafkaConstants.KAFKA_TOPIC, messageDto);
+        Assertions.assertEquals(messageDto, deserializer.deserialize(KafkaConstants.KAFKA_TOPIC, data));
+    }
+
+    @Test
+    public void unknownTypeFails() {
+        byte[] data = serializer.serialize(KafkaConstants.KAFKA_TOPIC, talk());
+        data[1] = (byte) MessageDto.MessageType.values().length;
+        Assertions.assertThrows(SerializationException.class, () -> deserializer.deserialize(KafkaConstants.KAFKA_TOPIC, data));
+    }
+
+    @Test
+    public void truncatedRecordFails() {
+        byte[] data = serializer.serialize(KafkaConstants.KAFKA_TOPIC, talk());
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            Assertions.assertThrows(SerializationException.class, () -> deserializer.deserialize(KafkaConstants.KAFKA_TOPIC, truncated));
+        }
+    }
+
+    @Test
+    public void errorHandlingDeserializerSkipsCorruptRecord() {
+        byte[] data = serializer.serialize(KafkaConstants.KAFKA_TOPIC, talk());
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        RecordHeaders headers = new RecordHeaders();
+
+        Assertions.assertNull(new ErrorHandlingDeserializer<>(deserializer).deserialize(KafkaConstants.KAFKA_TOPIC, headers, truncated));
+        Assertions.assertTrue(headers.iterator().hasNext());
+    }
+
+    private MessageDto talk() {
+        MessageDto messageDto = new MessageDto();
+        messageDto.setType(MessageDto.MessageType.TALK);
+        messageDto.setRoomId("12");
+        messageDto.setSenderId("3");
+        messageDto.setMessage("안녕하세요");
+        messageDto.setTime(1692000000000L);
+        return messageDto;
+    }
+}
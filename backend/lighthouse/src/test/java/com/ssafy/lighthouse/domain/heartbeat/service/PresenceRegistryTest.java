@@ -0,0 +1,60 @@
+package com.ssafy.lighthouse.domain.heartbeat.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PresenceRegistryTest {
+
+    private static final long TICK = 1000;
+    private static final long TIMEOUT = 40000;
+
+    private PresenceRegistry presenceRegistry;
+    private final List<Long> online = new ArrayList<>();
+    private final List<Long> offline = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        presenceRegistry = new PresenceRegistry(TICK, TIMEOUT);
+        presenceRegistry.addListener(new PresenceListener() {
+            @Override
+            public void onOnline(Long userId) {
+                online.add(userId);
+            }
+
+            @Override
+            public void onOffline(Long userId) {
+                offline.add(userId);
+            }
+        });
+    }
+
+    @Test
+    public void expiresWithoutHeartbeat() {
+        presenceRegistry.advance(0);
+        presenceRegistry.beat(1L, 0);
+        Assertions.assertEquals(1, online.size());
+
+        presenceRegistry.advance(TIMEOUT - TICK);
+        Assertions.assertTrue(presenceRegistry.isOnline(1L));
+
+        presenceRegistry.advance(TIMEOUT + TICK);
+        Assertions.assertFalse(presenceRegistry.isOnline(1L));
+        Assertions.assertEquals(1, offline.size());
+    }
+
+    @Test
+    public void staysOnlineWhileBeating() {
+        presenceRegistry.advance(0);
+        for (long now = 0; now <= TIMEOUT * 3; now += TICK * 10) {
+            presenceRegistry.beat(1L, now);
+            presenceRegistry.advance(now);
+        }
+        Assertions.assertTrue(presenceRegistry.isOnline(1L));
+        Assertions.assertEquals(1, online.size());
+        Assertions.assertTrue(offline.isEmpty());
+    }
+}
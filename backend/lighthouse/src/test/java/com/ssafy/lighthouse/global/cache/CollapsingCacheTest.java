@@ -0,0 +1,137 @@
+package com.ssafy.lighthouse.global.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CollapsingCacheTest {
+
+    @Test
+    public void loadsOncePerKey() {
+        CollapsingCache<String, Integer> cache = new CollapsingCache<>(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertEquals(1, cache.get("a", key -> loads.incrementAndGet()));
+        Assertions.assertEquals(1, cache.get("a", key -> loads.incrementAndGet()));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void collapsesConcurrentMisses() throws Exception {
+        CollapsingCache<String, Integer> cache = new CollapsingCache<>(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> first = executor.submit(() -> cache.get("a", key -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+
+            List<Future<Integer>> others = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                others.add(executor.submit(() -> cache.get("a", key -> loads.incrementAndGet())));
+            }
+            release.countDown();
+
+            Assertions.assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> other : others) {
+                Assertions.assertEquals(1, other.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void invalidatedWhileLoadingIsNotCached() {
+        CollapsingCache<String, Integer> cache = new CollapsingCache<>(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", key -> {
+            cache.invalidateAll();
+            return loads.incrementAndGet();
+        });
+        Assertions.assertEquals(2, cache.get("a", key -> loads.incrementAndGet()));
+    }
+
+    @Test
+    public void failedLoadIsNotCached() {
+        CollapsingCache<String, Integer> cache = new CollapsingCache<>(10, 60000);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("a", key -> {
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(1, cache.get("a", key -> 1));
+    }
+
+    @Test
+    public void expiresAfterTtl() throws InterruptedException {
+        CollapsingCache<String, Integer> cache = new CollapsingCache<>(10, 1);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", key -> loads.incrementAndGet());
+        Thread.sleep(5);
+        Assertions.assertEquals(2, cache.get("a", key -> loads.incrementAndGet()));
+    }
+
+    @Test
+    public void staysWithinMaxSize() {
+        CollapsingCache<Integer, Integer> cache = new CollapsingCache<>(3, 60000);
+        for (int i = 0; i < 10; i++) {
+            cache.get(i, key -> key);
+        }
+        Assertions.assertTrue(cache.size() <= 3);
+    }
+
+    @Test
+    public void loadsOnlyMissingKeysInOneBatch() {
+        CollapsingCache<Integer, String> cache = new CollapsingCache<>(10, 60000);
+        List<List<Integer>> batches = new ArrayList<>();
+
+        cache.get(1, key -> "1");
+        Map<Integer, String> result = cache.getAll(Arrays.asList(1, 2, 3, 2), keys -> {
+            batches.add(new ArrayList<>(keys));
+            Map<Integer, String> loaded = new HashMap<>();
+            keys.stream().filter(key -> key != 3).forEach(key -> loaded.put(key, String.valueOf(key)));
+            return loaded;
+        });
+
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(2, 3)), batches);
+        Assertions.assertEquals(Arrays.asList(1, 2), new ArrayList<>(result.keySet()));
+
+        // 없는 key(3)도 캐시되어 다시 로딩하지 않는다
+        cache.getAll(Arrays.asList(2, 3), keys -> {
+            batches.add(new ArrayList<>(keys));
+            return new HashMap<>();
+        });
+        Assertions.assertEquals(1, batches.size());
+        Assertions.assertEquals(3, cache.getMisses());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
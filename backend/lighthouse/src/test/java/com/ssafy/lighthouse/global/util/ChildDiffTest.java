@@ -0,0 +1,46 @@
+package com.ssafy.lighthouse.global.util;
+
+import com.ssafy.lighthouse.domain.study.dto.StudyEvalDto;
+import com.ssafy.lighthouse.domain.study.entity.StudyEval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ChildDiffTest {
+
+    private static StudyEval eval(Long id, int isValid, String comment) {
+        return StudyEval.builder().id(id).isValid(isValid).studyId(1L).userId(1L).comment(comment).build();
+    }
+
+    @Test
+    public void splitsInsertsUpdatesAndRemoves() {
+        List<StudyEval> existing = Arrays.asList(eval(1L, 1, "a"), eval(2L, 1, "b"), eval(3L, 1, "c"));
+        List<StudyEvalDto> requested = Arrays.asList(
+                new StudyEvalDto(eval(1L, 1, "a2")),
+                new StudyEvalDto(eval(2L, 0, "b")),
+                new StudyEvalDto(eval(null, 1, "new")),
+                new StudyEvalDto(eval(9L, 1, "unknown")));
+
+        ChildDiff<StudyEval, StudyEvalDto> diff = ChildDiff.of(existing, requested, StudyEvalDto::getId, StudyEvalDto::getIsValid);
+
+        Assertions.assertEquals(2, diff.getInserts().size());
+        Assertions.assertEquals(2, diff.getUpdateCount());
+        Assertions.assertEquals(1, diff.getRemoves().size());
+        Assertions.assertEquals(2L, diff.getRemoves().get(0).getId());
+
+        List<Long> updated = new ArrayList<>();
+        diff.forEachUpdate((entity, dto) -> updated.add(entity.getId()));
+        Assertions.assertEquals(Arrays.asList(1L, 2L), updated);
+    }
+
+    @Test
+    public void nullRequestChangesNothing() {
+        ChildDiff<StudyEval, StudyEvalDto> diff = ChildDiff.of(Arrays.asList(eval(1L, 1, "a")), null, StudyEvalDto::getId, StudyEvalDto::getIsValid);
+
+        Assertions.assertTrue(diff.getInserts().isEmpty());
+        Assertions.assertEquals(0, diff.getUpdateCount());
+    }
+}
@@ -0,0 +1,139 @@
+-- 스터디 검색 쿼리 플랜 비교 (migration/V1.0.1__study_search_indexes.sql 적용 전 / 후)
+-- 별도 스키마에 study / study_tag를 만들고 study 1,000,000건, study_tag 약 2,000,000건을 생성한다
+--
+-- 실행 : mysql -vvv -u {user} -p < exec/benchmark/study_search_benchmark.sql > benchmark.log
+--   -vvv 로 각 쿼리의 실행 시간이 함께 출력된다, EXPLAIN 결과의 type / key / rows / Extra 를 비교
+--   (using filesort, using temporary 가 사라지고 rows 가 limit 근처로 줄어드는지)
+
+DROP DATABASE IF EXISTS `lighthouse_bench`;
+CREATE DATABASE `lighthouse_bench` DEFAULT CHARACTER SET utf8;
+USE `lighthouse_bench`;
+
+-- Lighthouse_DB_dump_v1.0.0.sql 과 같은 정의
+CREATE TABLE `study` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `created_at` datetime NOT NULL DEFAULT current_timestamp(),
+  `is_valid` tinyint(4) NOT NULL DEFAULT 1,
+  `title` varchar(1024) NOT NULL,
+  `description` varchar(1024) DEFAULT NULL,
+  `original_id` int(11) DEFAULT 0,
+  `leader_id` int(11) DEFAULT 0,
+  `hit` int(11) DEFAULT 0,
+  `rule` varchar(1024) DEFAULT NULL,
+  `started_at` datetime DEFAULT NULL,
+  `ended_at` datetime DEFAULT NULL,
+  `recruit_finished_at` datetime DEFAULT NULL,
+  `max_member` int(11) DEFAULT 0,
+  `min_member` int(11) DEFAULT 0,
+  `current_member` int(11) DEFAULT NULL,
+  `is_online` tinyint(4) DEFAULT 0,
+  `like_cnt` int(11) DEFAULT 0,
+  `bookmark_cnt` int(11) DEFAULT 0,
+  `status` int(11) DEFAULT NULL,
+  `sido_id` int(11) DEFAULT 0,
+  `gugun_id` int(11) DEFAULT 0,
+  `badge_id` bigint(20) DEFAULT NULL,
+  `cover_img_url` varchar(128) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE `study_tag` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `created_at` datetime NOT NULL DEFAULT current_timestamp(),
+  `is_valid` tinyint(4) NOT NULL DEFAULT 1,
+  `study_id` int(11) NOT NULL,
+  `tag_id` int(11) NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 0 ~ 999,999 (recursive cte 없이 숫자 테이블 cross join)
+CREATE TABLE `digit` (`d` int NOT NULL PRIMARY KEY);
+INSERT INTO `digit` VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- status 0 ~ 4, 온라인 50%, 시도 1 ~ 17, 구군 1 ~ 25, 유효 95%, id 순서 = created_at 순서
+INSERT INTO `study` (`created_at`, `is_valid`, `title`, `description`, `leader_id`, `hit`, `is_online`,
+                     `like_cnt`, `bookmark_cnt`, `status`, `sido_id`, `gugun_id`)
+SELECT DATE_ADD('2020-01-01', INTERVAL n MINUTE),
+       IF(n % 20 = 0, 0, 1),
+       CONCAT('스터디 ', n),
+       CONCAT('스터디 설명 ', n),
+       n % 50000 + 1,
+       (n * 7919) % 5000,
+       n % 2,
+       (n * 104729) % 300,
+       (n * 1299709) % 200,
+       n % 5,
+       n % 17 + 1,
+       n % 25 + 1
+FROM (SELECT a.d + b.d * 10 + c.d * 100 + e.d * 1000 + f.d * 10000 + g.d * 100000 AS n
+      FROM `digit` a, `digit` b, `digit` c, `digit` e, `digit` f, `digit` g) nums
+ORDER BY n;
+
+-- 스터디당 태그 2개 (tag 1 ~ 40)
+INSERT INTO `study_tag` (`study_id`, `tag_id`) SELECT `id`, `id` % 40 + 1 FROM `study`;
+INSERT INTO `study_tag` (`study_id`, `tag_id`) SELECT `id`, (`id` * 7) % 40 + 1 FROM `study` WHERE (`id` * 7) % 40 <> `id` % 40;
+
+ANALYZE TABLE `study`, `study_tag`;
+
+-- =====================================================================
+-- 1. 인덱스 적용 전
+-- =====================================================================
+SELECT 'before migration' AS phase;
+
+-- 최신순 목록, 깊은 offset
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1
+ORDER BY `created_at` DESC LIMIT 8 OFFSET 8000;
+SELECT `id` FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1
+ORDER BY `created_at` DESC LIMIT 8 OFFSET 8000;
+
+-- cursor(feed) 조회
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1
+AND (`created_at` < '2021-06-01 00:00:00' OR (`created_at` = '2021-06-01 00:00:00' AND `id` < 750000))
+ORDER BY `created_at` DESC, `id` DESC LIMIT 9;
+
+-- 좋아요순
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 0
+ORDER BY `like_cnt` DESC, `id` DESC LIMIT 8;
+
+-- 지역 조건 (목록 + total)
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1 AND `sido_id` = 3 AND `gugun_id` = 7
+ORDER BY `created_at` DESC LIMIT 8;
+EXPLAIN SELECT COUNT(*) FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1 AND `sido_id` = 3;
+SELECT COUNT(*) FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1 AND `sido_id` = 3;
+
+-- tag exists 조건
+EXPLAIN SELECT * FROM `study` s WHERE s.`is_valid` = 1 AND s.`status` = 1 AND s.`is_online` = 1
+AND EXISTS (SELECT 1 FROM `study_tag` st WHERE st.`study_id` = s.`id` AND st.`is_valid` = 1 AND st.`tag_id` IN (3, 5))
+ORDER BY s.`created_at` DESC LIMIT 8;
+
+-- =====================================================================
+-- 2. 인덱스 적용
+-- =====================================================================
+SOURCE exec/migration/V1.0.1__study_search_indexes.sql;
+ANALYZE TABLE `study`, `study_tag`;
+
+-- =====================================================================
+-- 3. 인덱스 적용 후 (같은 쿼리)
+-- =====================================================================
+SELECT 'after migration' AS phase;
+
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1
+ORDER BY `created_at` DESC LIMIT 8 OFFSET 8000;
+SELECT `id` FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1
+ORDER BY `created_at` DESC LIMIT 8 OFFSET 8000;
+
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1
+AND (`created_at` < '2021-06-01 00:00:00' OR (`created_at` = '2021-06-01 00:00:00' AND `id` < 750000))
+ORDER BY `created_at` DESC, `id` DESC LIMIT 9;
+
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 0
+ORDER BY `like_cnt` DESC, `id` DESC LIMIT 8;
+
+EXPLAIN SELECT * FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1 AND `sido_id` = 3 AND `gugun_id` = 7
+ORDER BY `created_at` DESC LIMIT 8;
+EXPLAIN SELECT COUNT(*) FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1 AND `sido_id` = 3;
+SELECT COUNT(*) FROM `study` WHERE `is_valid` = 1 AND `status` = 1 AND `is_online` = 1 AND `sido_id` = 3;
+
+EXPLAIN SELECT * FROM `study` s WHERE s.`is_valid` = 1 AND s.`status` = 1 AND s.`is_online` = 1
+AND EXISTS (SELECT 1 FROM `study_tag` st WHERE st.`study_id` = s.`id` AND st.`is_valid` = 1 AND st.`tag_id` IN (3, 5))
+ORDER BY s.`created_at` DESC LIMIT 8;
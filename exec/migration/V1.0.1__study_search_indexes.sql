@@ -0,0 +1,27 @@
+-- Lighthouse DB v1.0.0 -> v1.0.1
+-- 스터디 검색 (StudyRepositoryImpl) 조건에 맞춘 복합 인덱스
+--   where is_valid = 1 and status = ? and is_online = ? [and sido_id = ? [and gugun_id = ?]]
+--   order by {created_at | hit | like_cnt | bookmark_cnt} {asc | desc}, id
+-- 동등 조건 컬럼을 앞에, 정렬 컬럼과 id를 뒤에 두어 filesort 없이 limit 만큼만 읽는다 (offset / cursor 조회 모두)
+
+-- study : 지역 조건 없는 목록 / feed
+CREATE INDEX `idx_study_search_created` ON `study` (`is_valid`, `status`, `is_online`, `created_at`, `id`);
+CREATE INDEX `idx_study_search_hit` ON `study` (`is_valid`, `status`, `is_online`, `hit`, `id`);
+CREATE INDEX `idx_study_search_like` ON `study` (`is_valid`, `status`, `is_online`, `like_cnt`, `id`);
+CREATE INDEX `idx_study_search_bookmark` ON `study` (`is_valid`, `status`, `is_online`, `bookmark_cnt`, `id`);
+
+-- study : 시도 / 시도 + 구군 조건 (최신순)
+CREATE INDEX `idx_study_search_region` ON `study` (`is_valid`, `status`, `is_online`, `sido_id`, `gugun_id`, `created_at`, `id`);
+
+-- study : 리더의 스터디, 이전 스터디 목록
+CREATE INDEX `idx_study_leader` ON `study` (`leader_id`, `is_valid`);
+CREATE INDEX `idx_study_original` ON `study` (`original_id`, `is_valid`, `status`, `like_cnt`);
+
+-- study_tag : tag exists 조건 (study_id 기준), 태그별 스터디 (tag_id 기준)
+CREATE INDEX `idx_study_tag_study` ON `study_tag` (`study_id`, `is_valid`, `tag_id`);
+CREATE INDEX `idx_study_tag_tag` ON `study_tag` (`tag_id`, `is_valid`, `study_id`);
+
+-- 리더 프로필 일괄 조회 (UserRepositoryImpl.findSimpleProfileMapByUserIds)
+CREATE INDEX `idx_user_eval_user` ON `user_eval` (`user_id`, `is_valid`, `score`);
+CREATE INDEX `idx_user_tag_user` ON `user_tag` (`user_id`, `is_valid`, `tag_id`);
+CREATE INDEX `idx_user_badge_user` ON `user_badge` (`user_id`, `is_valid`, `created_at`);
@@ -0,0 +1,30 @@
+-- Lighthouse DB v1.0.1 -> v1.0.2
+-- 좋아요 / 북마크 멱등 등록 (StudyLikeRepository, BookmarkRepository)
+--   restore : update ... set is_valid = 1 where study_id = ? and user_id = ? and is_valid = 0
+--   insert ignore into {study_like | bookmark} (study_id, user_id) values (?, ?)
+-- (study_id, user_id) 당 row 하나만 두고 unique key로 중복 등록을 막는다
+
+-- 중복 row 정리 : 유효한 row 우선, 그다음 최신 row 하나만 남긴다
+DELETE a FROM `study_like` a
+  JOIN `study_like` b ON a.`study_id` = b.`study_id` AND a.`user_id` = b.`user_id`
+   AND (a.`is_valid` < b.`is_valid` OR (a.`is_valid` = b.`is_valid` AND a.`id` < b.`id`));
+
+DELETE a FROM `bookmark` a
+  JOIN `bookmark` b ON a.`study_id` = b.`study_id` AND a.`user_id` = b.`user_id`
+   AND (a.`is_valid` < b.`is_valid` OR (a.`is_valid` = b.`is_valid` AND a.`id` < b.`id`));
+
+ALTER TABLE `study_like` ADD UNIQUE KEY `uk_study_like_study_user` (`study_id`, `user_id`);
+ALTER TABLE `bookmark` ADD UNIQUE KEY `uk_bookmark_study_user` (`study_id`, `user_id`);
+
+-- 사용자별 좋아요 / 북마크 목록 (findAllByUserId)
+CREATE INDEX `idx_study_like_user` ON `study_like` (`user_id`, `is_valid`, `study_id`);
+CREATE INDEX `idx_bookmark_user` ON `bookmark` (`user_id`, `is_valid`, `study_id`);
+
+-- like_cnt / bookmark_cnt 를 유효 row 수로 한 번 맞춘다 (이후 StudyReactionReconciler.reconcile 이 주기적으로 반복)
+UPDATE `study` s LEFT JOIN (SELECT `study_id`, COUNT(*) AS cnt FROM `study_like` WHERE `is_valid` = 1 GROUP BY `study_id`) c
+    ON c.`study_id` = s.`id`
+   SET s.`like_cnt` = COALESCE(c.cnt, 0);
+
+UPDATE `study` s LEFT JOIN (SELECT `study_id`, COUNT(*) AS cnt FROM `bookmark` WHERE `is_valid` = 1 GROUP BY `study_id`) c
+    ON c.`study_id` = s.`id`
+   SET s.`bookmark_cnt` = COALESCE(c.cnt, 0);
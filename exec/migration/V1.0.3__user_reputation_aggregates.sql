@@ -0,0 +1,28 @@
+-- Lighthouse DB v1.0.2 -> v1.0.3
+-- 프로필 평점 / 팔로우 수 집계 컬럼
+--   기존 : 프로필마다 avg(user_eval.score), count(follow) 상관 서브쿼리
+--   변경 : user.score_sum / score_cnt / following_cnt / follower_cnt 를 읽기만 한다
+--          (UserServiceImpl 평가, 팔로우 등록 / 삭제 때 증감, UserReputationRebuilder 가 주기적으로 재계산)
+
+ALTER TABLE `user`
+    ADD COLUMN `score_sum` bigint(20) NOT NULL DEFAULT 0,
+    ADD COLUMN `score_cnt` bigint(20) NOT NULL DEFAULT 0,
+    ADD COLUMN `following_cnt` bigint(20) NOT NULL DEFAULT 0,
+    ADD COLUMN `follower_cnt` bigint(20) NOT NULL DEFAULT 0;
+
+-- 팔로우 등록 / 삭제 조회, 재계산용
+CREATE INDEX `idx_follow_follower` ON `follow` (`follower_id`, `is_valid`, `followee_id`);
+CREATE INDEX `idx_follow_followee` ON `follow` (`followee_id`, `is_valid`, `follower_id`);
+
+-- 초기값
+UPDATE `user` u LEFT JOIN (SELECT `user_id`, SUM(`score`) AS score_sum, COUNT(`score`) AS score_cnt FROM `user_eval` WHERE `is_valid` = 1 GROUP BY `user_id`) e
+    ON e.`user_id` = u.`id`
+   SET u.`score_sum` = COALESCE(e.score_sum, 0), u.`score_cnt` = COALESCE(e.score_cnt, 0);
+
+UPDATE `user` u LEFT JOIN (SELECT `follower_id`, COUNT(*) AS cnt FROM `follow` WHERE `is_valid` = 1 GROUP BY `follower_id`) f
+    ON f.`follower_id` = u.`id`
+   SET u.`following_cnt` = COALESCE(f.cnt, 0);
+
+UPDATE `user` u LEFT JOIN (SELECT `followee_id`, COUNT(*) AS cnt FROM `follow` WHERE `is_valid` = 1 GROUP BY `followee_id`) f
+    ON f.`followee_id` = u.`id`
+   SET u.`follower_cnt` = COALESCE(f.cnt, 0);
@@ -0,0 +1,90 @@
+// Lighthouse Mongo v1.0.3 -> v1.0.4
+// 채팅 기록을 chat 컬렉션에서 chat_bucket / chat_room 으로 옮긴다
+//   기존 : chat { _id: roomId, name, log: [chat...] } 방마다 문서 하나
+//   변경 : chat_bucket { _id: roomId:bucket, roomId, bucket, count, firstTime, lastTime, log } 에 ChatBucket.SIZE 개씩,
+//          chat_room { _id: roomId, name, seq } 에 방의 마지막 seq
+//
+// 실행 : mongosh "$MONGODB_URI" exec/migration/V1.0.4__chat_buckets.js
+//   lighthouse 의 chat 저장 consumer 를 멈춘 상태에서 실행한다 (배포 전, 혹은 모든 인스턴스를 내리고)
+//   이미 새 버전으로 쌓인 chat 이 있는 방은 옛 chat 을 seq 1.. 로 앞에 두고 새 chat 의 seq 를 뒤로 민다
+//   옮긴 방은 chat_room.legacy 에 옮긴 개수를 남겨서 다시 실행해도 두 번 옮기지 않는다
+//   chat 컬렉션은 지우지 않는다, 확인한 뒤 직접 drop 한다
+
+const SIZE = 100; // ChatBucket.SIZE
+
+function bucketOf(seq) {
+    return Math.floor((seq - 1) / SIZE);
+}
+
+function migrate(record) {
+    const roomId = record._id;
+    const room = db.chat_room.findOne({ _id: roomId });
+    if (room && room.legacy !== undefined) return 0;
+
+    const legacy = (record.log || []).filter(chat => chat);
+    if (legacy.length === 0) return 0;
+
+    // 옛 chat 은 저장된 순서대로 seq 1..n, key 는 MessageListener 의 kafka key 와 겹치지 않게 legacy-{roomId}-{index}
+    const chats = legacy.map((chat, index) => Object.assign({}, chat, {
+        roomId: roomId,
+        seq: NumberLong(index + 1),
+        key: "legacy-" + roomId + "-" + index
+    }));
+
+    // 이미 쌓인 새 chat 은 seq 를 n 만큼 뒤로
+    db.chat_bucket.find({ roomId: roomId }).sort({ bucket: 1 }).forEach(bucket => {
+        (bucket.log || []).forEach(chat => {
+            chats.push(Object.assign({}, chat, { seq: NumberLong(Number(chat.seq) + legacy.length) }));
+        });
+    });
+    chats.sort((a, b) => Number(a.seq) - Number(b.seq));
+
+    const buckets = new Map();
+    chats.forEach(chat => {
+        const bucket = bucketOf(Number(chat.seq));
+        if (!buckets.has(bucket)) buckets.set(bucket, []);
+        buckets.get(bucket).push(chat);
+    });
+
+    // seq 가 뒤로만 밀리므로 기존 bucket id 는 모두 다시 쓰인다, 지우지 않고 덮어쓴다
+    const writes = [];
+    buckets.forEach((log, bucket) => {
+        const times = log.map(chat => chat.time).filter(time => time !== null && time !== undefined).map(Number);
+        const doc = {
+            _id: roomId + ":" + bucket,
+            roomId: roomId,
+            bucket: NumberLong(bucket),
+            count: NumberInt(log.length),
+            log: log
+        };
+        if (times.length > 0) {
+            doc.firstTime = NumberLong(Math.min.apply(null, times));
+            doc.lastTime = NumberLong(Math.max.apply(null, times));
+        }
+        writes.push({ replaceOne: { filter: { _id: doc._id }, replacement: doc, upsert: true } });
+    });
+    db.chat_bucket.bulkWrite(writes, { ordered: true });
+
+    // 마지막 seq 와 옮긴 개수를 한 번에 남긴다, 예약만 되고 저장되지 않은 seq 도 함께 밀린다
+    db.chat_room.updateOne(
+        { _id: roomId, legacy: { $exists: false } },
+        {
+            $inc: { seq: NumberLong(legacy.length) },
+            $set: { legacy: NumberInt(legacy.length) },
+            $setOnInsert: { name: record.name === undefined ? null : record.name }
+        },
+        { upsert: true });
+    return legacy.length;
+}
+
+let rooms = 0;
+let moved = 0;
+db.chat.find().forEach(record => {
+    const count = migrate(record);
+    if (count > 0) {
+        rooms++;
+        moved += count;
+        print("room " + record._id + " : " + count + " chats");
+    }
+});
+print("migrated " + moved + " chats of " + rooms + " rooms");